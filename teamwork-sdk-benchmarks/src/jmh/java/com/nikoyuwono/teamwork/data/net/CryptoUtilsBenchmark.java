@@ -0,0 +1,38 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import com.nikoyuwono.teamwork.util.RandomString;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import okhttp3.Credentials;
+
+@State(Scope.Benchmark)
+public class CryptoUtilsBenchmark {
+
+    private String key;
+    private String initVector;
+    private String credential;
+    private String encryptedCredential;
+
+    @Setup
+    public void setup() {
+        final RandomString randomString = new RandomString();
+        key = randomString.getRandomString(32);
+        initVector = randomString.getRandomString(16);
+        credential = Credentials.basic("twp_benchmarkApiKey0123456789", "");
+        encryptedCredential = CryptoUtils.encrypt(key, initVector, credential);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return CryptoUtils.encrypt(key, initVector, credential);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return CryptoUtils.decrypt(key, initVector, encryptedCredential);
+    }
+}
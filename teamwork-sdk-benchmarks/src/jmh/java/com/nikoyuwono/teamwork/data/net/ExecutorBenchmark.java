@@ -0,0 +1,41 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+
+/**
+ * Cost of going from ApiClient.withPath to a ready to send OkHttp Request.
+ */
+@State(Scope.Benchmark)
+public class ExecutorBenchmark {
+
+    private ApiClient apiClient;
+
+    @Setup
+    public void setup() {
+        apiClient = new ApiClient.Builder()
+                .okHttpClient(new OkHttpClient())
+                .baseUrl(HttpUrl.parse("https://demo.teamwork.com/"))
+                .build();
+    }
+
+    @Benchmark
+    public Request getRequest() {
+        return apiClient.withPath("/projects/2323.json")
+                .param("includePeople", true)
+                .createGetRequest();
+    }
+
+    @Benchmark
+    public Request postRequest() {
+        return apiClient.withPath("/projects.json")
+                .jsonBody("{\"name\":\"Benchmark\",\"description\":\"Created by ExecutorBenchmark\"}")
+                .createPostRequest();
+    }
+}
@@ -0,0 +1,47 @@
+package com.nikoyuwono.teamwork.service.project;
+
+import com.nikoyuwono.teamwork.data.model.GetProjectParameter;
+import com.nikoyuwono.teamwork.data.model.ProjectStatus;
+import com.nikoyuwono.teamwork.data.net.ApiClient;
+import com.nikoyuwono.teamwork.service.ModelTypeAdapters;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+
+@State(Scope.Benchmark)
+public class GetAllProjectsExecutorBenchmark {
+
+    private ProjectServiceImpl projectService;
+    private GetProjectParameter getProjectParameter;
+
+    @Setup
+    public void setup() {
+        final ApiClient apiClient = new ApiClient.Builder()
+                .okHttpClient(new OkHttpClient())
+                .baseUrl(HttpUrl.parse("https://demo.teamwork.com/"))
+                .build();
+        projectService = new ProjectServiceImpl(apiClient, ModelTypeAdapters.gson());
+        getProjectParameter = GetProjectParameter.newBuilder()
+                .projectStatus(ProjectStatus.ACTIVE)
+                .updatedAfterDate("20170101")
+                .updatedAfterTime("10:00")
+                .orderBy("name")
+                .includePeople(true)
+                .build();
+    }
+
+    @Benchmark
+    public HttpUrl withoutParameter() {
+        return projectService.createGetAllProjectsExecutor(null).getHttpUrl();
+    }
+
+    @Benchmark
+    public HttpUrl withParameter() {
+        return projectService.createGetAllProjectsExecutor(getProjectParameter).getHttpUrl();
+    }
+}
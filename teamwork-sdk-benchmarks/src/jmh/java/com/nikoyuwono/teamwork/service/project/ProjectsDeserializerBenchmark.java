@@ -0,0 +1,63 @@
+package com.nikoyuwono.teamwork.service.project;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.nikoyuwono.teamwork.data.model.Project;
+import com.nikoyuwono.teamwork.service.JsonArrayReader;
+import com.nikoyuwono.teamwork.service.ModelTypeAdapters;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Compares the ways a project list can be decoded: the tree based ProjectsDeserializer, and the
+ * streaming JsonArrayReader with either the generated or Gson's reflective Project adapter.
+ */
+@State(Scope.Benchmark)
+public class ProjectsDeserializerBenchmark {
+
+    private static final Type PROJECT_LIST_TYPE = new TypeToken<List<Project>>() {}.getType();
+
+    @Param({"10", "1000", "50000"})
+    public int projectCount;
+
+    private String payload;
+    private Gson treeGson;
+    private TypeAdapter<Project> generatedAdapter;
+    private TypeAdapter<Project> reflectiveAdapter;
+
+    @Setup
+    public void setup() {
+        payload = ProjectsPayload.create(projectCount);
+        treeGson = new GsonBuilder()
+                .registerTypeAdapter(PROJECT_LIST_TYPE, new ProjectsDeserializer())
+                .create();
+        generatedAdapter = ModelTypeAdapters.get(Project.class);
+        reflectiveAdapter = new Gson().getAdapter(Project.class);
+    }
+
+    @Benchmark
+    public List<Project> treeDeserializer() {
+        return treeGson.fromJson(payload, PROJECT_LIST_TYPE);
+    }
+
+    @Benchmark
+    public List<Project> streamingGeneratedAdapter() throws IOException {
+        return new JsonArrayReader<>(new StringReader(payload), "projects", generatedAdapter).readAll();
+    }
+
+    @Benchmark
+    public List<Project> streamingReflectiveAdapter() throws IOException {
+        return new JsonArrayReader<>(new StringReader(payload), "projects", reflectiveAdapter).readAll();
+    }
+}
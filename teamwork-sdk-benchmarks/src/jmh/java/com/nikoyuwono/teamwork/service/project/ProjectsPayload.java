@@ -0,0 +1,41 @@
+package com.nikoyuwono.teamwork.service.project;
+
+/**
+ * Builds synthetic /projects.json responses shaped like the real API output.
+ */
+final class ProjectsPayload {
+
+    private ProjectsPayload() {
+        throw new AssertionError("This class shouldn't be initialized");
+    }
+
+    static String create(final int projectCount) {
+        final StringBuilder builder = new StringBuilder(projectCount * 700 + 64);
+        builder.append("{\"STATUS\":\"OK\",\"projects\":[");
+        for (int i = 0; i < projectCount; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"company\":{\"name\":\"Company ").append(i % 50)
+                    .append("\",\"is-owner\":\"1\",\"id\":\"").append(i % 50).append("\"},")
+                    .append("\"starred\":").append(i % 7 == 0).append(',')
+                    .append("\"name\":\"Project ").append(i).append("\",")
+                    .append("\"show-announcement\":false,")
+                    .append("\"announcement\":\"\",")
+                    .append("\"description\":\"Synthetic project number ").append(i).append(" used for benchmarking\",")
+                    .append("\"status\":\"active\",")
+                    .append("\"isProjectAdmin\":false,")
+                    .append("\"created-on\":\"2013-12-04T19:11:44Z\",")
+                    .append("\"category\":{\"name\":\"\",\"id\":\"\"},")
+                    .append("\"start-page\":\"projectoverview\",")
+                    .append("\"startDate\":\"20131204\",")
+                    .append("\"logo\":\"http://demo.teamwork.com/images/logo").append(i).append(".jpg\",")
+                    .append("\"notifyeveryone\":false,")
+                    .append("\"id\":\"").append(100000 + i).append("\",")
+                    .append("\"last-changed-on\":\"2014-03-18T11:20:49Z\",")
+                    .append("\"endDate\":\"20140313\",")
+                    .append("\"harvest-timers-enabled\":\"true\"}");
+        }
+        return builder.append("]}").toString();
+    }
+}
@@ -0,0 +1,319 @@
+package com.nikoyuwono.teamwork.compiler;
+
+import com.squareup.javapoet.ClassName;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+
+/**
+ * What the processor needs to know about an annotated model: its serialized properties,
+ * how to read each of them and how to create an instance from the values read.
+ */
+final class ModelClass {
+
+    private static final String SERIALIZED_NAME = "com.google.gson.annotations.SerializedName";
+
+    enum Creation {
+        /** {@code Model.newBuilder().property(value)...build()} */
+        BUILDER,
+        /** {@code new Model(value, ...)} with the properties in declaration order */
+        CONSTRUCTOR,
+        /** {@code new Model()} followed by setters or direct field assignments */
+        SETTERS
+    }
+
+    static final class Property {
+        final String name;
+        final String jsonName;
+        final TypeMirror type;
+        final String getter;
+        final String setter;
+
+        Property(String name, String jsonName, TypeMirror type, String getter, String setter) {
+            this.name = name;
+            this.jsonName = jsonName;
+            this.type = type;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        boolean isString() {
+            return type.getKind() == TypeKind.DECLARED && type.toString().equals("java.lang.String");
+        }
+
+        boolean isPrimitiveBoolean() {
+            return type.getKind() == TypeKind.BOOLEAN;
+        }
+
+        boolean isPrimitive() {
+            return type.getKind().isPrimitive();
+        }
+    }
+
+    static final class InvalidModelException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Element element;
+
+        InvalidModelException(Element element, String message) {
+            super(message);
+            this.element = element;
+        }
+
+        Element getElement() {
+            return element;
+        }
+    }
+
+    private final ClassName className;
+    private final ClassName adapterClassName;
+    private final List<Property> properties;
+    private final Creation creation;
+
+    private ModelClass(ClassName className, List<Property> properties, Creation creation) {
+        this.className = className;
+        this.adapterClassName = ClassName.get(className.packageName(), adapterSimpleName(className));
+        this.properties = Collections.unmodifiableList(properties);
+        this.creation = creation;
+    }
+
+    static ModelClass parse(final TypeElement typeElement, final ProcessingEnvironment processingEnv)
+            throws InvalidModelException {
+        if (typeElement.getModifiers().contains(Modifier.PRIVATE)
+                || typeElement.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new InvalidModelException(typeElement, "@GenerateTypeAdapter classes must be concrete and not private");
+        }
+        if (typeElement.getNestingKind().isNested() && !typeElement.getModifiers().contains(Modifier.STATIC)) {
+            throw new InvalidModelException(typeElement, "@GenerateTypeAdapter nested classes must be static");
+        }
+
+        final Types types = processingEnv.getTypeUtils();
+        final List<ExecutableElement> methods = ElementFilter.methodsIn(typeElement.getEnclosedElements());
+        final List<Property> properties = new ArrayList<>();
+        for (final VariableElement field : ElementFilter.fieldsIn(typeElement.getEnclosedElements())) {
+            final Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            final String name = field.getSimpleName().toString();
+            final boolean accessible = !modifiers.contains(Modifier.PRIVATE);
+            final String getter = findGetter(methods, field, types);
+            if (getter == null && !accessible) {
+                throw new InvalidModelException(field, "No getter found for " + name);
+            }
+            final String setter = findSetter(methods, field, types);
+            properties.add(new Property(name, jsonName(field), field.asType(), getter, setter));
+        }
+
+        final Creation creation;
+        if (hasMatchingBuilder(typeElement, methods, properties, types)) {
+            creation = Creation.BUILDER;
+        } else if (hasMatchingConstructor(typeElement, properties, types)) {
+            creation = Creation.CONSTRUCTOR;
+        } else if (hasNoArgConstructor(typeElement) && canSetAll(typeElement, properties)) {
+            creation = Creation.SETTERS;
+        } else {
+            throw new InvalidModelException(typeElement, "Unable to create " + typeElement.getSimpleName()
+                    + ": expected a newBuilder() with a method per property, a constructor taking every property"
+                    + " in declaration order, or a no-arg constructor with setters");
+        }
+
+        return new ModelClass(ClassName.get(typeElement), properties, creation);
+    }
+
+    ClassName getClassName() {
+        return className;
+    }
+
+    ClassName getAdapterClassName() {
+        return adapterClassName;
+    }
+
+    List<Property> getProperties() {
+        return properties;
+    }
+
+    Creation getCreation() {
+        return creation;
+    }
+
+    private static String adapterSimpleName(final ClassName className) {
+        final StringBuilder name = new StringBuilder();
+        for (final String simpleName : className.simpleNames()) {
+            if (name.length() > 0) {
+                name.append('_');
+            }
+            name.append(simpleName);
+        }
+        return name.append("_TypeAdapter").toString();
+    }
+
+    private static String jsonName(final VariableElement field) {
+        for (final AnnotationMirror annotation : field.getAnnotationMirrors()) {
+            final TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (!annotationType.getQualifiedName().contentEquals(SERIALIZED_NAME)) {
+                continue;
+            }
+            for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                    : annotation.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("value")) {
+                    return (String) entry.getValue().getValue();
+                }
+            }
+        }
+        return field.getSimpleName().toString();
+    }
+
+    private static String findGetter(final List<ExecutableElement> methods, final VariableElement field, final Types types) {
+        final String capitalized = capitalize(field.getSimpleName().toString());
+        final String[] candidates = field.asType().getKind() == TypeKind.BOOLEAN
+                ? new String[]{"is" + capitalized, "get" + capitalized}
+                : new String[]{"get" + capitalized};
+        for (final String candidate : candidates) {
+            for (final ExecutableElement method : methods) {
+                if (method.getSimpleName().contentEquals(candidate)
+                        && method.getParameters().isEmpty()
+                        && !method.getModifiers().contains(Modifier.PRIVATE)
+                        && !method.getModifiers().contains(Modifier.STATIC)
+                        && types.isSameType(method.getReturnType(), field.asType())) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String findSetter(final List<ExecutableElement> methods, final VariableElement field, final Types types) {
+        final String candidate = "set" + capitalize(field.getSimpleName().toString());
+        for (final ExecutableElement method : methods) {
+            if (method.getSimpleName().contentEquals(candidate)
+                    && method.getParameters().size() == 1
+                    && !method.getModifiers().contains(Modifier.PRIVATE)
+                    && !method.getModifiers().contains(Modifier.STATIC)
+                    && types.isSameType(method.getParameters().get(0).asType(), field.asType())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasMatchingBuilder(final TypeElement typeElement,
+                                              final List<ExecutableElement> methods,
+                                              final List<Property> properties,
+                                              final Types types) {
+        ExecutableElement newBuilder = null;
+        for (final ExecutableElement method : methods) {
+            if (method.getSimpleName().contentEquals("newBuilder")
+                    && method.getParameters().isEmpty()
+                    && method.getModifiers().contains(Modifier.STATIC)
+                    && !method.getModifiers().contains(Modifier.PRIVATE)) {
+                newBuilder = method;
+            }
+        }
+        if (newBuilder == null || newBuilder.getReturnType().getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+
+        final TypeElement builder = (TypeElement) ((DeclaredType) newBuilder.getReturnType()).asElement();
+        final List<ExecutableElement> builderMethods = ElementFilter.methodsIn(builder.getEnclosedElements());
+        if (!hasBuilderMethod(builderMethods, "build", null, typeElement.asType(), types)) {
+            return false;
+        }
+        for (final Property property : properties) {
+            if (!hasBuilderMethod(builderMethods, property.name, property.type, builder.asType(), types)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasBuilderMethod(final List<ExecutableElement> builderMethods,
+                                            final String name,
+                                            final TypeMirror parameterType,
+                                            final TypeMirror returnType,
+                                            final Types types) {
+        for (final ExecutableElement method : builderMethods) {
+            if (!method.getSimpleName().contentEquals(name)
+                    || method.getModifiers().contains(Modifier.PRIVATE)
+                    || !types.isSameType(method.getReturnType(), returnType)) {
+                continue;
+            }
+            if (parameterType == null && method.getParameters().isEmpty()) {
+                return true;
+            }
+            if (parameterType != null && method.getParameters().size() == 1
+                    && types.isSameType(method.getParameters().get(0).asType(), parameterType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasMatchingConstructor(final TypeElement typeElement,
+                                                  final List<Property> properties,
+                                                  final Types types) {
+        for (final ExecutableElement constructor : ElementFilter.constructorsIn(typeElement.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PRIVATE)
+                    || constructor.getParameters().size() != properties.size()) {
+                continue;
+            }
+            boolean matches = true;
+            for (int i = 0; i < properties.size(); i++) {
+                if (!types.isSameType(constructor.getParameters().get(i).asType(), properties.get(i).type)) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasNoArgConstructor(final TypeElement typeElement) {
+        for (final ExecutableElement constructor : ElementFilter.constructorsIn(typeElement.getEnclosedElements())) {
+            if (!constructor.getModifiers().contains(Modifier.PRIVATE) && constructor.getParameters().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean canSetAll(final TypeElement typeElement, final List<Property> properties) {
+        for (final Property property : properties) {
+            if (property.setter != null) {
+                continue;
+            }
+            for (final VariableElement field : ElementFilter.fieldsIn(typeElement.getEnclosedElements())) {
+                if (field.getSimpleName().contentEquals(property.name)
+                        && (field.getModifiers().contains(Modifier.PRIVATE) || field.getModifiers().contains(Modifier.FINAL))) {
+                    return false;
+                }
+            }
+        }
+        return typeElement.getKind() == ElementKind.CLASS;
+    }
+
+    private static String capitalize(final String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
@@ -0,0 +1,136 @@
+package com.nikoyuwono.teamwork.compiler;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.TypeVariableName;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a streaming Gson {@code TypeAdapter} for every class annotated with
+ * {@code com.nikoyuwono.teamwork.data.model.GenerateTypeAdapter}, plus a {@code ModelTypeAdapterFactory}
+ * that hands them to Gson.
+ */
+public class TypeAdapterProcessor extends AbstractProcessor {
+
+    static final String GENERATE_TYPE_ADAPTER = "com.nikoyuwono.teamwork.data.model.GenerateTypeAdapter";
+    static final String FACTORY_PACKAGE = "com.nikoyuwono.teamwork.data.model";
+    static final String FACTORY_NAME = "ModelTypeAdapterFactory";
+
+    private static final ClassName GSON = ClassName.get("com.google.gson", "Gson");
+    private static final ClassName TYPE_ADAPTER = ClassName.get("com.google.gson", "TypeAdapter");
+    private static final ClassName TYPE_ADAPTER_FACTORY = ClassName.get("com.google.gson", "TypeAdapterFactory");
+    private static final ClassName TYPE_TOKEN = ClassName.get("com.google.gson.reflect", "TypeToken");
+
+    private final List<ClassName> modelClasses = new ArrayList<>();
+    private final List<ClassName> adapterClasses = new ArrayList<>();
+    private boolean factoryWritten = false;
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(GENERATE_TYPE_ADAPTER);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        final TypeElement annotation = processingEnv.getElementUtils().getTypeElement(GENERATE_TYPE_ADAPTER);
+        if (annotation != null) {
+            for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    error(element, "@GenerateTypeAdapter can only be applied to classes");
+                    continue;
+                }
+                generateAdapter((TypeElement) element);
+            }
+        }
+
+        // Models are plain sources, so they all show up in the first round
+        if (!factoryWritten && !modelClasses.isEmpty()) {
+            generateFactory();
+            factoryWritten = true;
+        }
+        return true;
+    }
+
+    private void generateAdapter(final TypeElement typeElement) {
+        final ModelClass modelClass;
+        try {
+            modelClass = ModelClass.parse(typeElement, processingEnv);
+        } catch (ModelClass.InvalidModelException e) {
+            error(e.getElement(), e.getMessage());
+            return;
+        }
+
+        final TypeSpec adapter = new TypeAdapterWriter(modelClass).write();
+        write(modelClass.getAdapterClassName().packageName(), adapter, typeElement);
+        modelClasses.add(modelClass.getClassName());
+        adapterClasses.add(modelClass.getAdapterClassName());
+    }
+
+    private void generateFactory() {
+        final TypeVariableName typeVariable = TypeVariableName.get("T");
+        final MethodSpec.Builder create = MethodSpec.methodBuilder("create")
+                .addAnnotation(Override.class)
+                .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                        .addMember("value", "$S", "unchecked")
+                        .build())
+                .addModifiers(Modifier.PUBLIC)
+                .addTypeVariable(typeVariable)
+                .returns(ParameterizedTypeName.get(TYPE_ADAPTER, typeVariable))
+                .addParameter(GSON, "gson")
+                .addParameter(ParameterizedTypeName.get(TYPE_TOKEN, typeVariable), "type")
+                .addStatement("final Class<?> rawType = type.getRawType()");
+
+        for (int i = 0; i < modelClasses.size(); i++) {
+            create.beginControlFlow("if (rawType == $T.class)", modelClasses.get(i))
+                    .addStatement("return ($T<T>) new $T(gson)", TYPE_ADAPTER, adapterClasses.get(i))
+                    .endControlFlow();
+        }
+        create.addStatement("return null");
+
+        final TypeSpec factory = TypeSpec.classBuilder(FACTORY_NAME)
+                .addJavadoc("Generated by teamwork-sdk-compiler, do not edit.\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addSuperinterface(TYPE_ADAPTER_FACTORY)
+                .addMethod(create.build())
+                .build();
+        write(FACTORY_PACKAGE, factory, null);
+    }
+
+    private void write(final String packageName, final TypeSpec typeSpec, final Element originatingElement) {
+        try {
+            JavaFile.builder(packageName, typeSpec)
+                    .skipJavaLangImports(true)
+                    .build()
+                    .writeTo(processingEnv.getFiler());
+        } catch (IOException e) {
+            error(originatingElement, "Unable to write " + typeSpec.name + ": " + e.getMessage());
+        }
+    }
+
+    private void error(final Element element, final String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,252 @@
+package com.nikoyuwono.teamwork.compiler;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import java.io.IOException;
+
+import javax.lang.model.element.Modifier;
+import javax.lang.model.type.TypeKind;
+
+/**
+ * Writes the streaming TypeAdapter of a {@link ModelClass}. Strings and booleans are read inline with
+ * the same leniency as Gson's built-in adapters, every other type is delegated to the Gson instance.
+ */
+final class TypeAdapterWriter {
+
+    private static final ClassName GSON = ClassName.get("com.google.gson", "Gson");
+    private static final ClassName TYPE_ADAPTER = ClassName.get("com.google.gson", "TypeAdapter");
+    private static final ClassName TYPE_TOKEN = ClassName.get("com.google.gson.reflect", "TypeToken");
+    private static final ClassName JSON_READER = ClassName.get("com.google.gson.stream", "JsonReader");
+    private static final ClassName JSON_WRITER = ClassName.get("com.google.gson.stream", "JsonWriter");
+    private static final ClassName JSON_TOKEN = ClassName.get("com.google.gson.stream", "JsonToken");
+
+    private final ModelClass modelClass;
+
+    TypeAdapterWriter(final ModelClass modelClass) {
+        this.modelClass = modelClass;
+    }
+
+    TypeSpec write() {
+        final TypeSpec.Builder adapter = TypeSpec.classBuilder(modelClass.getAdapterClassName())
+                .addJavadoc("Generated by teamwork-sdk-compiler, do not edit.\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .superclass(ParameterizedTypeName.get(TYPE_ADAPTER, modelClass.getClassName()));
+
+        final MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(GSON, "gson");
+        for (final ModelClass.Property property : modelClass.getProperties()) {
+            if (isInline(property)) {
+                continue;
+            }
+            final TypeName boxedType = TypeName.get(property.type).box();
+            adapter.addField(FieldSpec.builder(ParameterizedTypeName.get(TYPE_ADAPTER, boxedType),
+                    adapterFieldName(property), Modifier.PRIVATE, Modifier.FINAL).build());
+            if (property.type.getKind() == TypeKind.DECLARED && boxedType instanceof ParameterizedTypeName) {
+                constructor.addStatement("this.$N = gson.getAdapter(new $T<$T>() {})",
+                        adapterFieldName(property), TYPE_TOKEN, boxedType);
+            } else {
+                constructor.addStatement("this.$N = gson.getAdapter($T.class)",
+                        adapterFieldName(property), TypeName.get(property.type));
+            }
+        }
+
+        adapter.addMethod(constructor.build())
+                .addMethod(writeMethod())
+                .addMethod(readMethod());
+        // Only the helpers read() calls, an unused private method is a lint warning in every adapter
+        boolean readsString = false;
+        boolean readsBoolean = false;
+        for (final ModelClass.Property property : modelClass.getProperties()) {
+            readsString |= property.isString();
+            readsBoolean |= property.isPrimitiveBoolean();
+        }
+        if (readsString) {
+            adapter.addMethod(readStringMethod());
+        }
+        if (readsBoolean) {
+            adapter.addMethod(readBooleanMethod());
+        }
+        return adapter.build();
+    }
+
+    private MethodSpec writeMethod() {
+        final MethodSpec.Builder write = MethodSpec.methodBuilder("write")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addException(IOException.class)
+                .addParameter(JSON_WRITER, "out")
+                .addParameter(modelClass.getClassName(), "value")
+                .beginControlFlow("if (value == null)")
+                .addStatement("out.nullValue()")
+                .addStatement("return")
+                .endControlFlow()
+                .addStatement("out.beginObject()");
+
+        for (final ModelClass.Property property : modelClass.getProperties()) {
+            final CodeBlock access = property.getter != null
+                    ? CodeBlock.of("value.$N()", property.getter)
+                    : CodeBlock.of("value.$N", property.name);
+            write.addStatement("out.name($S)", property.jsonName);
+            if (isInline(property)) {
+                write.addStatement("out.value($L)", access);
+            } else {
+                write.addStatement("$N.write(out, $L)", adapterFieldName(property), access);
+            }
+        }
+
+        return write.addStatement("out.endObject()").build();
+    }
+
+    private MethodSpec readMethod() {
+        final MethodSpec.Builder read = MethodSpec.methodBuilder("read")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addException(IOException.class)
+                .returns(modelClass.getClassName())
+                .addParameter(JSON_READER, "in")
+                .beginControlFlow("if (in.peek() == $T.NULL)", JSON_TOKEN)
+                .addStatement("in.nextNull()")
+                .addStatement("return null")
+                .endControlFlow();
+
+        for (final ModelClass.Property property : modelClass.getProperties()) {
+            read.addStatement("$T $N = $L", TypeName.get(property.type), property.name, defaultValue(property));
+        }
+
+        read.addStatement("in.beginObject()")
+                .beginControlFlow("while (in.hasNext())")
+                .beginControlFlow("switch (in.nextName())");
+        for (final ModelClass.Property property : modelClass.getProperties()) {
+            read.addCode("case $S:\n", property.jsonName).addCode("$>");
+            if (property.isString()) {
+                read.addStatement("$N = readString(in)", property.name);
+            } else if (property.isPrimitiveBoolean()) {
+                read.beginControlFlow("if (in.peek() == $T.NULL)", JSON_TOKEN)
+                        .addStatement("in.nextNull()")
+                        .nextControlFlow("else")
+                        .addStatement("$N = readBoolean(in)", property.name)
+                        .endControlFlow();
+            } else if (property.isPrimitive()) {
+                // Like Gson, a null doesn't override the default value of a primitive
+                final String boxedName = property.name + "Value";
+                read.addStatement("final $T $N = $N.read(in)",
+                        TypeName.get(property.type).box(), boxedName, adapterFieldName(property))
+                        .beginControlFlow("if ($N != null)", boxedName)
+                        .addStatement("$N = $N", property.name, boxedName)
+                        .endControlFlow();
+            } else {
+                read.addStatement("$N = $N.read(in)", property.name, adapterFieldName(property));
+            }
+            read.addStatement("break").addCode("$<");
+        }
+        read.addCode("default:\n$>")
+                .addStatement("in.skipValue()")
+                .addCode("$<")
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("in.endObject()");
+
+        return read.addCode(creation()).build();
+    }
+
+    private CodeBlock creation() {
+        final CodeBlock.Builder code = CodeBlock.builder();
+        switch (modelClass.getCreation()) {
+            case BUILDER:
+                code.add("return $T.newBuilder()\n$>$>", modelClass.getClassName());
+                for (final ModelClass.Property property : modelClass.getProperties()) {
+                    code.add(".$N($N)\n", property.name, property.name);
+                }
+                code.add(".build();\n$<$<");
+                break;
+            case CONSTRUCTOR:
+                code.add("return new $T(", modelClass.getClassName());
+                for (int i = 0; i < modelClass.getProperties().size(); i++) {
+                    code.add(i == 0 ? "$N" : ", $N", modelClass.getProperties().get(i).name);
+                }
+                code.add(");\n");
+                break;
+            case SETTERS:
+                code.addStatement("final $T value = new $T()", modelClass.getClassName(), modelClass.getClassName());
+                for (final ModelClass.Property property : modelClass.getProperties()) {
+                    if (property.setter != null) {
+                        code.addStatement("value.$N($N)", property.setter, property.name);
+                    } else {
+                        code.addStatement("value.$N = $N", property.name, property.name);
+                    }
+                }
+                code.addStatement("return value");
+                break;
+        }
+        return code.build();
+    }
+
+    private static MethodSpec readStringMethod() {
+        // Same leniency as Gson's String adapter: numbers are read as their text, booleans are converted
+        return MethodSpec.methodBuilder("readString")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addException(IOException.class)
+                .returns(String.class)
+                .addParameter(JSON_READER, "in")
+                .addStatement("final $T token = in.peek()", JSON_TOKEN)
+                .beginControlFlow("if (token == $T.NULL)", JSON_TOKEN)
+                .addStatement("in.nextNull()")
+                .addStatement("return null")
+                .endControlFlow()
+                .beginControlFlow("if (token == $T.BOOLEAN)", JSON_TOKEN)
+                .addStatement("return Boolean.toString(in.nextBoolean())")
+                .endControlFlow()
+                .addStatement("return in.nextString()")
+                .build();
+    }
+
+    private static MethodSpec readBooleanMethod() {
+        // Same leniency as Gson's boolean adapter: "true" and "false" strings are accepted
+        return MethodSpec.methodBuilder("readBoolean")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addException(IOException.class)
+                .returns(boolean.class)
+                .addParameter(JSON_READER, "in")
+                .beginControlFlow("if (in.peek() == $T.STRING)", JSON_TOKEN)
+                .addStatement("return Boolean.parseBoolean(in.nextString())")
+                .endControlFlow()
+                .addStatement("return in.nextBoolean()")
+                .build();
+    }
+
+    private static boolean isInline(final ModelClass.Property property) {
+        return property.isString() || property.isPrimitiveBoolean();
+    }
+
+    private static String adapterFieldName(final ModelClass.Property property) {
+        return property.name + "Adapter";
+    }
+
+    private static String defaultValue(final ModelClass.Property property) {
+        switch (property.type.getKind()) {
+            case BOOLEAN:
+                return "false";
+            case CHAR:
+                return "'\\0'";
+            case BYTE:
+            case SHORT:
+            case INT:
+                return "0";
+            case LONG:
+                return "0L";
+            case FLOAT:
+                return "0f";
+            case DOUBLE:
+                return "0d";
+            default:
+                return "null";
+        }
+    }
+}
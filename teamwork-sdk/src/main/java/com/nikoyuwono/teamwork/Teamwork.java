@@ -2,47 +2,84 @@ package com.nikoyuwono.teamwork;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.content.pm.ApplicationInfo;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
 
 import com.nikoyuwono.teamwork.data.net.ApiClient;
+import com.nikoyuwono.teamwork.data.net.CircuitBreaker;
+import com.nikoyuwono.teamwork.data.net.ResponseLeakDetector;
+import com.nikoyuwono.teamwork.data.store.AndroidDatabase;
+import com.nikoyuwono.teamwork.data.store.ProjectStore;
+import com.nikoyuwono.teamwork.service.ModelTypeAdapters;
 import com.nikoyuwono.teamwork.service.account.AccountRequest;
 import com.nikoyuwono.teamwork.service.project.ProjectRequest;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 
 public final class Teamwork {
     private static final String PREFERENCE_NAME = "com.nikoyuwono.teamwork.SDK_STORE";
+    private static final String DATABASE_NAME = "com.nikoyuwono.teamwork.db";
 
     private static ApiClient apiClient;
+    private static CircuitBreaker circuitBreaker;
     private static Context applicationContext;
+    private static ProjectStore projectStore;
 
     private Teamwork() {
         throw new AssertionError("This constructor shouldn't be called!");
     }
 
-    public static synchronized void initialize(final Context applicationContext) {
+    public static void initialize(final Context applicationContext) {
+        initialize(applicationContext, TeamworkConfig.newBuilder().build());
+    }
+
+    public static synchronized void initialize(final Context applicationContext, final TeamworkConfig config) {
         Teamwork.applicationContext = applicationContext.getApplicationContext();
-        final Cache cache = createCache(applicationContext.getCacheDir());
-        final OkHttpClient okHttpClient = createOkHttpClient(cache);
+        if ((Teamwork.applicationContext.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+            ResponseLeakDetector.enable();
+        }
+        final File cacheDir = config.getCacheDirectory() != null
+                ? config.getCacheDirectory()
+                : applicationContext.getCacheDir();
+        final OkHttpClient okHttpClient = createOkHttpClient(config, cacheDir);
         apiClient = new ApiClient.Builder()
                 .okHttpClient(okHttpClient)
+                .rateLimiter(config.getRateLimiter())
+                .retryPolicy(config.getRetryPolicy())
+                .circuitBreaker(config.getCircuitBreaker())
                 .build();
+        circuitBreaker = config.getCircuitBreaker();
     }
 
-    private static Cache createCache(final File cacheDir) {
-        int cacheSize = 10 * 1024 * 1024;
-        return new Cache(cacheDir, cacheSize);
-    }
-
-    private static OkHttpClient createOkHttpClient(final Cache cache) {
-        return new OkHttpClient.Builder()
-                .readTimeout(10000, TimeUnit.MILLISECONDS)
-                .connectTimeout(15000, TimeUnit.MILLISECONDS)
-                .cache(cache)
-                .build();
+    @VisibleForTesting
+    static OkHttpClient createOkHttpClient(final TeamworkConfig config, @Nullable final File cacheDir) {
+        final Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(config.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(config.getMaxRequestsPerHost());
+        final OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(config.getMaxIdleConnections(),
+                        config.getKeepAliveDurationMillis(), TimeUnit.MILLISECONDS))
+                .connectTimeout(config.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout(config.getReadTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .writeTimeout(config.getWriteTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .protocols(config.isHttp2Enabled()
+                        ? Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                        : Collections.singletonList(Protocol.HTTP_1_1));
+        if (cacheDir != null && config.getCacheSizeBytes() > 0) {
+            builder.cache(new Cache(cacheDir, config.getCacheSizeBytes()));
+        }
+        return builder.build();
     }
 
     public static Context getApplicationContext() {
@@ -57,6 +94,14 @@ public final class Teamwork {
         }
     }
 
+    /**
+     * @return the circuit breaker of the requests, to read the state of each host, null if it is disabled
+     */
+    @Nullable
+    public static CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
     public static AccountRequest accountRequest() {
         final AccountRequest accountRequest = AccountRequest.getInstance();
         accountRequest.init(apiClient);
@@ -68,4 +113,15 @@ public final class Teamwork {
         projectRequest.init(apiClient);
         return projectRequest;
     }
+
+    /**
+     * @return the local copy of the projects, kept up to date by the offline-first project requests
+     */
+    public static synchronized ProjectStore projectStore() {
+        if (projectStore == null) {
+            projectStore = new ProjectStore(new AndroidDatabase(applicationContext, DATABASE_NAME),
+                    ModelTypeAdapters.gson());
+        }
+        return projectStore;
+    }
 }
@@ -0,0 +1,253 @@
+package com.nikoyuwono.teamwork;
+
+import android.support.annotation.Nullable;
+
+import com.nikoyuwono.teamwork.data.net.CircuitBreaker;
+import com.nikoyuwono.teamwork.data.net.RateLimiter;
+import com.nikoyuwono.teamwork.data.net.RetryPolicy;
+
+import java.io.File;
+
+/**
+ * How {@link Teamwork#initialize(android.content.Context, TeamworkConfig)} sets up its HTTP client.
+ * The defaults match what the SDK used before it could be configured, except for the requests allowed per host,
+ * raised from OkHttp's 5 since every request of the SDK goes to the same Teamwork host.
+ *
+ * <p>Each config holds its own rate limiter and circuit breaker, build a new one for every
+ * {@code initialize()}.
+ */
+public final class TeamworkConfig {
+
+    private final int maxRequests;
+    private final int maxRequestsPerHost;
+    private final int maxIdleConnections;
+    private final long keepAliveDurationMillis;
+    private final long connectTimeoutMillis;
+    private final long readTimeoutMillis;
+    private final long writeTimeoutMillis;
+    private final long cacheSizeBytes;
+    private final File cacheDirectory;
+    private final boolean http2Enabled;
+    private final RateLimiter rateLimiter;
+    private final RetryPolicy retryPolicy;
+    private final CircuitBreaker circuitBreaker;
+
+    private TeamworkConfig(Builder builder) {
+        maxRequests = builder.maxRequests;
+        maxRequestsPerHost = builder.maxRequestsPerHost;
+        maxIdleConnections = builder.maxIdleConnections;
+        keepAliveDurationMillis = builder.keepAliveDurationMillis;
+        connectTimeoutMillis = builder.connectTimeoutMillis;
+        readTimeoutMillis = builder.readTimeoutMillis;
+        writeTimeoutMillis = builder.writeTimeoutMillis;
+        cacheSizeBytes = builder.cacheSizeBytes;
+        cacheDirectory = builder.cacheDirectory;
+        http2Enabled = builder.http2Enabled;
+        rateLimiter = builder.rateLimiter;
+        retryPolicy = builder.retryPolicy;
+        circuitBreaker = builder.circuitBreaker;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    public long getKeepAliveDurationMillis() {
+        return keepAliveDurationMillis;
+    }
+
+    public long getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public long getReadTimeoutMillis() {
+        return readTimeoutMillis;
+    }
+
+    public long getWriteTimeoutMillis() {
+        return writeTimeoutMillis;
+    }
+
+    public long getCacheSizeBytes() {
+        return cacheSizeBytes;
+    }
+
+    /**
+     * @return where the HTTP cache lives, {@code null} for the cache directory of the application
+     */
+    @Nullable
+    public File getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    public boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    @Nullable
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    @Nullable
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    @Nullable
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public static final class Builder {
+        private int maxRequests = 64;
+        private int maxRequestsPerHost = 16;
+        private int maxIdleConnections = 5;
+        private long keepAliveDurationMillis = 5 * 60 * 1000;
+        private long connectTimeoutMillis = 15000;
+        private long readTimeoutMillis = 10000;
+        private long writeTimeoutMillis = 10000;
+        private long cacheSizeBytes = 10 * 1024 * 1024;
+        private File cacheDirectory;
+        private boolean http2Enabled = true;
+        // Teamwork's default budget, adjusted from the X-RateLimit-Limit header of the responses
+        private RateLimiter rateLimiter = new RateLimiter(150);
+        private RetryPolicy retryPolicy = RetryPolicy.newBuilder().build();
+        private CircuitBreaker circuitBreaker = CircuitBreaker.newBuilder().build();
+
+        private Builder() {
+        }
+
+        /**
+         * Asynchronous requests running at once, every host included. The next ones wait in a queue.
+         */
+        public Builder maxRequests(int maxRequests) {
+            checkPositive(maxRequests, "maxRequests");
+            this.maxRequests = maxRequests;
+            return this;
+        }
+
+        /**
+         * Asynchronous requests running at once against the same host.
+         */
+        public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+            checkPositive(maxRequestsPerHost, "maxRequestsPerHost");
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        /**
+         * Idle connections kept open for the next requests.
+         */
+        public Builder maxIdleConnections(int maxIdleConnections) {
+            if (maxIdleConnections < 0) {
+                throw new IllegalArgumentException("maxIdleConnections can't be negative");
+            }
+            this.maxIdleConnections = maxIdleConnections;
+            return this;
+        }
+
+        /**
+         * How long an idle connection is kept open.
+         */
+        public Builder keepAliveDurationMillis(long keepAliveDurationMillis) {
+            checkPositive(keepAliveDurationMillis, "keepAliveDurationMillis");
+            this.keepAliveDurationMillis = keepAliveDurationMillis;
+            return this;
+        }
+
+        /**
+         * 0 for no timeout, as for the other timeouts.
+         */
+        public Builder connectTimeoutMillis(long connectTimeoutMillis) {
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            return this;
+        }
+
+        public Builder readTimeoutMillis(long readTimeoutMillis) {
+            this.readTimeoutMillis = readTimeoutMillis;
+            return this;
+        }
+
+        public Builder writeTimeoutMillis(long writeTimeoutMillis) {
+            this.writeTimeoutMillis = writeTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Largest size of the HTTP cache, 0 to disable it.
+         */
+        public Builder cacheSizeBytes(long cacheSizeBytes) {
+            if (cacheSizeBytes < 0) {
+                throw new IllegalArgumentException("cacheSizeBytes can't be negative");
+            }
+            this.cacheSizeBytes = cacheSizeBytes;
+            return this;
+        }
+
+        public Builder cacheDirectory(@Nullable File cacheDirectory) {
+            this.cacheDirectory = cacheDirectory;
+            return this;
+        }
+
+        /**
+         * Whether HTTP/2 is offered to the server, letting the requests share one connection. Turned off, every
+         * request in flight needs its own HTTP/1.1 connection.
+         */
+        public Builder http2Enabled(boolean http2Enabled) {
+            this.http2Enabled = http2Enabled;
+            return this;
+        }
+
+        /**
+         * Keeps the requests under a per-minute budget, 150 requests a minute by default, null lets every
+         * request through straight away.
+         */
+        public Builder rateLimiter(@Nullable RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        /**
+         * Retries the idempotent requests failing with an I/O error or a retryable status, null reports every
+         * failure straight away.
+         */
+        public Builder retryPolicy(@Nullable RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * Fails the requests to a failing host fast, null lets every request wait for its own timeout.
+         */
+        public Builder circuitBreaker(@Nullable CircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+            return this;
+        }
+
+        public TeamworkConfig build() {
+            if (maxRequestsPerHost > maxRequests) {
+                throw new IllegalArgumentException("maxRequestsPerHost can't be more than maxRequests");
+            }
+            return new TeamworkConfig(this);
+        }
+
+        private static void checkPositive(long value, String name) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " must be positive");
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.nikoyuwono.teamwork.data.model;
+
+/**
+ * Outcome of a request that doesn't return a model, e.g. creating, updating, deleting or starring a project.
+ * The response body has already been read and closed when this is delivered.
+ */
+public class ActionResult {
+
+    private final int code;
+    private final String status;
+    private final String id;
+
+    public ActionResult(int code, String status, String id) {
+        this.code = code;
+        this.status = status;
+        this.id = id;
+    }
+
+    /**
+     * @return the HTTP status code of the response
+     */
+    public int getCode() {
+        return code;
+    }
+
+    public boolean isSuccessful() {
+        return code >= 200 && code < 300;
+    }
+
+    /**
+     * @return the {@code STATUS} field of the response body (e.g. "OK"), or null if there was none
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the id of the created item, or null if the request didn't create one
+     */
+    public String getId() {
+        return id;
+    }
+}
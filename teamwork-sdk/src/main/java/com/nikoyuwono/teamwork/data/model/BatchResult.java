@@ -0,0 +1,42 @@
+package com.nikoyuwono.teamwork.data.model;
+
+import android.support.annotation.Nullable;
+
+/**
+ * Outcome of one item of a batch: the {@link ActionResult} of its request, or the error it failed with.
+ *
+ * @param <K> what identifies the item, e.g. a project id
+ */
+public class BatchResult<K> {
+
+    private final K item;
+    private final ActionResult result;
+    private final Exception error;
+
+    public BatchResult(K item, @Nullable ActionResult result, @Nullable Exception error) {
+        this.item = item;
+        this.result = result;
+        this.error = error;
+    }
+
+    public K getItem() {
+        return item;
+    }
+
+    /**
+     * @return the result of the request, or null if it failed with {@link #getError()}
+     */
+    @Nullable
+    public ActionResult getResult() {
+        return result;
+    }
+
+    @Nullable
+    public Exception getError() {
+        return error;
+    }
+
+    public boolean isSuccessful() {
+        return error == null && result != null && result.isSuccessful();
+    }
+}
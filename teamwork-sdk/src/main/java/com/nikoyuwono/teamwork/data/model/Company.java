@@ -2,6 +2,7 @@ package com.nikoyuwono.teamwork.data.model;
 
 import com.google.gson.annotations.SerializedName;
 
+@GenerateTypeAdapter
 public class Company {
 
     @SerializedName("id")
@@ -0,0 +1,16 @@
+package com.nikoyuwono.teamwork.data.model;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a model class for which teamwork-sdk-compiler generates a streaming Gson TypeAdapter
+ * from its {@code @SerializedName} fields. The generated adapters are registered through
+ * {@code ModelTypeAdapterFactory}, so binding doesn't go through Gson's reflection.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateTypeAdapter {
+}
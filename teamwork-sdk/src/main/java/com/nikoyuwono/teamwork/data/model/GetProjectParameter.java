@@ -10,6 +10,8 @@ public class GetProjectParameter {
     private final String categoryId;
     private final String orderBy;
     private final boolean includePeople;
+    private final int page;
+    private final int pageSize;
 
     public GetProjectParameter(ProjectStatus projectStatus, String updatedAfterDate, String updatedAfterTime, String createdAfterDate, String createdAfterTime, String categoryId, String orderBy, boolean includePeople) {
         this.projectStatus = projectStatus;
@@ -20,6 +22,8 @@ public class GetProjectParameter {
         this.categoryId = categoryId;
         this.orderBy = orderBy;
         this.includePeople = includePeople;
+        this.page = 0;
+        this.pageSize = 0;
     }
 
     private GetProjectParameter(Builder builder) {
@@ -31,12 +35,29 @@ public class GetProjectParameter {
         categoryId = builder.categoryId;
         orderBy = builder.orderBy;
         includePeople = builder.includePeople;
+        page = builder.page;
+        pageSize = builder.pageSize;
     }
 
     public static Builder newBuilder() {
         return new Builder();
     }
 
+    public static Builder newBuilder(GetProjectParameter copy) {
+        Builder builder = new Builder();
+        builder.projectStatus = copy.projectStatus;
+        builder.updatedAfterDate = copy.updatedAfterDate;
+        builder.updatedAfterTime = copy.updatedAfterTime;
+        builder.createdAfterDate = copy.createdAfterDate;
+        builder.createdAfterTime = copy.createdAfterTime;
+        builder.categoryId = copy.categoryId;
+        builder.orderBy = copy.orderBy;
+        builder.includePeople = copy.includePeople;
+        builder.page = copy.page;
+        builder.pageSize = copy.pageSize;
+        return builder;
+    }
+
     public ProjectStatus getProjectStatus() {
         return projectStatus;
     }
@@ -69,6 +90,20 @@ public class GetProjectParameter {
         return includePeople;
     }
 
+    /**
+     * @return the 1-based page to request, or 0 to let the API decide
+     */
+    public int getPage() {
+        return page;
+    }
+
+    /**
+     * @return the number of projects per page, or 0 to use the API default
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
     public static final class Builder {
         private ProjectStatus projectStatus;
         private String updatedAfterDate;
@@ -78,6 +113,8 @@ public class GetProjectParameter {
         private String categoryId;
         private String orderBy;
         private boolean includePeople;
+        private int page;
+        private int pageSize;
 
         private Builder() {
         }
@@ -122,6 +159,16 @@ public class GetProjectParameter {
             return this;
         }
 
+        public Builder page(int page) {
+            this.page = page;
+            return this;
+        }
+
+        public Builder pageSize(int pageSize) {
+            this.pageSize = pageSize;
+            return this;
+        }
+
         public GetProjectParameter build() {
             return new GetProjectParameter(this);
         }
@@ -0,0 +1,47 @@
+package com.nikoyuwono.teamwork.data.model;
+
+import java.util.List;
+
+/**
+ * One page of a paginated list, with the position reported by the API pagination headers.
+ */
+public class Page<T> {
+
+    private final List<T> items;
+    private final int page;
+    private final int pageCount;
+    private final int recordCount;
+
+    public Page(List<T> items, int page, int pageCount, int recordCount) {
+        this.items = items;
+        this.page = page;
+        this.pageCount = pageCount;
+        this.recordCount = recordCount;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * @return the 1-based number of this page
+     */
+    public int getPage() {
+        return page;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    /**
+     * @return the number of records across every page
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    public boolean hasNextPage() {
+        return page < pageCount;
+    }
+}
@@ -2,6 +2,7 @@ package com.nikoyuwono.teamwork.data.model;
 
 import com.google.gson.annotations.SerializedName;
 
+@GenerateTypeAdapter
 public class Person {
 
     @SerializedName("id")
@@ -90,6 +91,7 @@ public class Person {
         return new Builder();
     }
 
+    @GenerateTypeAdapter
     public static class Permissions {
 
         @SerializedName("can-manage-people")
@@ -4,6 +4,7 @@ import com.google.gson.annotations.SerializedName;
 
 import java.util.List;
 
+@GenerateTypeAdapter
 public class Project {
 
     @SerializedName("id")
@@ -296,6 +297,7 @@ public class Project {
         }
     }
 
+    @GenerateTypeAdapter
     public static class Company {
 
         @SerializedName("name")
@@ -1,12 +1,13 @@
 package com.nikoyuwono.teamwork.data.net;
 
-import android.content.SharedPreferences;
-
-import com.nikoyuwono.teamwork.Teamwork;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
 
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import okhttp3.Call;
 import okhttp3.Callback;
@@ -18,40 +19,164 @@ import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
 import rx.Observable;
-import rx.schedulers.Schedulers;
+import rx.Scheduler;
+import rx.exceptions.Exceptions;
+import rx.functions.Func1;
+import rx.subscriptions.Subscriptions;
 
 public class ApiClient {
 
     public static final String HOST_PREFERENCE_KEY = "HOST_PREFERENCE_KEY";
-    private static final String AUTHENTICATE_HOST = "authenticate.teamworkpm.net";
+
+    private static final int MAX_REVALIDATION_ENTRIES = 32;
+
+    /**
+     * Turns a response into a value, see {@link #decode(Response, Decoder, Func1)}.
+     */
+    public interface Decoder<T> {
+        T decode(Response response) throws IOException;
+    }
 
     private final OkHttpClient okHttpClient;
     private final HttpUrl baseUrl;
+    private final MetricsSink metricsSink;
+    private final Scheduler networkScheduler;
+    private final Scheduler parseScheduler;
+    private final RevalidationCache revalidationCache = new RevalidationCache(MAX_REVALIDATION_ENTRIES);
+    private final SingleFlight singleFlight = new SingleFlight();
 
     private ApiClient(Builder builder) {
-        this.okHttpClient = builder.okHttpClient;
+        final OkHttpClient.Builder okHttpClientBuilder = builder.okHttpClient.newBuilder();
+        // Retries go through the circuit breaker and the rate limiter again, each attempt takes its own permit
+        if (builder.retryPolicy != null) {
+            okHttpClientBuilder.addInterceptor(new RetryInterceptor(builder.retryPolicy));
+        }
+        if (builder.circuitBreaker != null) {
+            okHttpClientBuilder.addInterceptor(builder.circuitBreaker);
+        }
+        if (builder.rateLimiter != null) {
+            okHttpClientBuilder.addInterceptor(builder.rateLimiter);
+        }
+        final MetricsSink metricsSink = builder.metricsSink;
+        if (metricsSink != null) {
+            okHttpClientBuilder.eventListenerFactory(call -> new MetricsEventListener(metricsSink, System::nanoTime));
+        }
+        this.okHttpClient = okHttpClientBuilder.build();
         this.baseUrl = builder.baseUrl;
+        this.metricsSink = metricsSink;
+        // A stream holds its thread until the body is read, there are at most as many as requests to the host
+        this.networkScheduler = builder.networkScheduler != null
+                ? builder.networkScheduler
+                : DefaultSchedulers.network(okHttpClient.dispatcher().getMaxRequestsPerHost());
+        this.parseScheduler = builder.parseScheduler != null ? builder.parseScheduler : DefaultSchedulers.parse();
     }
 
     public Executor withPath(final String path) {
-        if (baseUrl != null) {
-            return new Executor(this, baseUrl, path);
-        } else {
-            final SharedPreferences sharedPreferences = Teamwork.getSharedPreferences();
-            final String host;
-            if (sharedPreferences != null) {
-                host = sharedPreferences.getString(HOST_PREFERENCE_KEY, AUTHENTICATE_HOST);
-            } else {
-                host = AUTHENTICATE_HOST;
-            }
-            return new Executor(this, host, path);
+        final HttpUrl url = baseUrl != null ? baseUrl : HostResolver.getBaseUrl();
+        return new Executor(this, url, path);
+    }
+
+    /**
+     * @return where the streamed responses are read, bounded, so it also suits the other blocking I/O of the SDK
+     */
+    public Scheduler networkScheduler() {
+        return networkScheduler;
+    }
+
+    /**
+     * @return where the responses are decoded, see {@link #toParseScheduler()}
+     */
+    public Scheduler parseScheduler() {
+        return parseScheduler;
+    }
+
+    /**
+     * Reads the whole body of each response on the thread it was emitted from, which also gives the connection
+     * back, then hands the response over to the parse scheduler. Decoding then never waits on the socket, and never
+     * holds a network thread.
+     */
+    public Observable.Transformer<Response, Response> toParseScheduler() {
+        return responses -> responses
+                .map(response -> {
+                    try {
+                        response.body().source().request(Long.MAX_VALUE);
+                    } catch (IOException e) {
+                        response.close();
+                        throw Exceptions.propagate(e);
+                    }
+                    return response;
+                })
+                .observeOn(parseScheduler);
+    }
+
+    /**
+     * Decodes each response with {@code decoder} on the parse scheduler, see {@link #toParseScheduler()} and
+     * {@link #decode(Response, Decoder, Func1)}.
+     */
+    public <T> Observable.Transformer<Response, T> decoding(final Decoder<T> decoder,
+                                                           final Func1<? super T, Integer> objectCount) {
+        return responses -> responses
+                .compose(toParseScheduler())
+                .map(response -> decodeUnchecked(response, decoder, objectCount));
+    }
+
+    /**
+     * Runs {@code decoder} on {@code response} and reports how long it took and how many objects it produced to
+     * the {@link MetricsSink}, if there is one.
+     */
+    public <T> T decode(final Response response, final Decoder<T> decoder,
+                        final Func1<? super T, Integer> objectCount) throws IOException {
+        if (metricsSink == null) {
+            return decoder.decode(response);
+        }
+        final long startNanos = System.nanoTime();
+        final T value = decoder.decode(response);
+        metricsSink.onDecode(new DecodeMetrics(RequestMetrics.endpointOf(response.request()),
+                System.nanoTime() - startNanos, value != null ? objectCount.call(value) : 0));
+        return value;
+    }
+
+    private <T> T decodeUnchecked(final Response response, final Decoder<T> decoder,
+                                  final Func1<? super T, Integer> objectCount) {
+        try {
+            return decode(response, decoder, objectCount);
+        } catch (IOException e) {
+            // Only unchecked exceptions get through map, the IOException stays the cause
+            throw Exceptions.propagate(e);
         }
     }
 
+    /**
+     * Like {@link #decode(Response, Decoder, Func1)} for a decoder emitting the objects as they are read, the
+     * decoding time runs from the subscription to the completion. The objects are read on the network scheduler,
+     * as reading them also reads the socket.
+     */
+    public <T> Observable<T> decodeStream(final Response response, final Func1<Response, Observable<T>> decoder) {
+        // Requests coming from a downstream observeOn must not read the socket on that thread
+        if (metricsSink == null) {
+            return decoder.call(response).subscribeOn(networkScheduler);
+        }
+        return Observable.defer(() -> {
+            final long startNanos = System.nanoTime();
+            final AtomicInteger objectCount = new AtomicInteger();
+            return decoder.call(response)
+                    .doOnNext(value -> objectCount.incrementAndGet())
+                    .doOnCompleted(() -> metricsSink.onDecode(new DecodeMetrics(
+                            RequestMetrics.endpointOf(response.request()),
+                            System.nanoTime() - startNanos, objectCount.get())));
+        }).subscribeOn(networkScheduler);
+    }
+
     public static final class Builder {
 
         private OkHttpClient okHttpClient;
         private HttpUrl baseUrl;
+        private RateLimiter rateLimiter;
+        private RetryPolicy retryPolicy;
+        private CircuitBreaker circuitBreaker;
+        private MetricsSink metricsSink;
+        private Scheduler networkScheduler;
+        private Scheduler parseScheduler;
 
         public ApiClient build() {
             if (okHttpClient == null)  {
@@ -70,6 +195,60 @@ public class ApiClient {
             this.baseUrl = baseUrl;
             return this;
         }
+
+        /**
+         * Makes every request take a permit from {@code rateLimiter} first, waiting for one when over budget.
+         */
+        public Builder rateLimiter(@Nullable RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        /**
+         * Retries the GET, PUT and DELETE requests failing with an I/O error, a 5xx or a 429 as told by
+         * {@code retryPolicy}. Without one, every failure is reported straight away.
+         */
+        public Builder retryPolicy(@Nullable RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * Fails the requests to a host with a {@link CircuitBreakerOpenException}, without sending them, while
+         * {@code circuitBreaker} considers it down.
+         */
+        public Builder circuitBreaker(@Nullable CircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+            return this;
+        }
+
+        /**
+         * Reports the phases of every call and the decoding of every response to {@code metricsSink}. This replaces
+         * the {@code EventListener.Factory} of the OkHttpClient.
+         */
+        public Builder metricsSink(MetricsSink metricsSink) {
+            this.metricsSink = metricsSink;
+            return this;
+        }
+
+        /**
+         * Where the streamed responses are read. It should be bounded, as each stream holds its thread until the
+         * whole body is read. The calls themselves are enqueued and run on the threads of the OkHttpClient
+         * dispatcher. Defaults to as many threads as the dispatcher runs requests per host, e.g. the
+         * {@code maxRequestsPerHost} of the {@code TeamworkConfig}, shared by the clients with the same limit.
+         */
+        public Builder networkScheduler(Scheduler networkScheduler) {
+            this.networkScheduler = networkScheduler;
+            return this;
+        }
+
+        /**
+         * Where the responses are decoded. Defaults to {@code Schedulers.computation()}, one thread per CPU core.
+         */
+        public Builder parseScheduler(Scheduler parseScheduler) {
+            this.parseScheduler = parseScheduler;
+            return this;
+        }
     }
 
     public static class Executor {
@@ -77,6 +256,7 @@ public class ApiClient {
         private static final String CONTENT_TYPE_FIELD_NAME = "Content-Type";
         private static final String CONTENT_TYPE_APPLICATION_JSON = "application/json; charset=utf-8";
         private static final String AUTHORIZATION_FIELD_NAME = "Authorization";
+        private static final int HTTP_NOT_MODIFIED = 304;
 
         private final ApiClient apiClient;
 
@@ -92,27 +272,22 @@ public class ApiClient {
 
         private boolean shouldSaveCredential = false;
 
+        private final Throwable requestTrace = ResponseLeakDetector.captureRequestTrace();
+
         Executor(final ApiClient apiClient,
                  final HttpUrl httpUrl,
                  final String path) {
             this.apiClient = apiClient;
-            this.urlBuilder = httpUrl.newBuilder()
-                    .encodedPath(path);
-            addDefaultHeaders();
-        }
-
-        Executor(final ApiClient apiClient,
-                 String host,
-                 final String path) {
-            if (host == null) {
-                host = "host";
+            if (httpUrl != null) {
+                this.urlBuilder = httpUrl.newBuilder()
+                        .encodedPath(path);
+            } else {
                 missingHost = true;
+                this.urlBuilder = new HttpUrl.Builder()
+                        .scheme("https")
+                        .host("host")
+                        .encodedPath(path);
             }
-            this.apiClient = apiClient;
-            this.urlBuilder = new HttpUrl.Builder()
-                    .scheme("https")
-                    .host(host)
-                    .encodedPath(path);
             addDefaultHeaders();
         }
 
@@ -141,39 +316,65 @@ public class ApiClient {
             return buildRequestUrlWithQueryParameter();
         }
 
+        /**
+         * @return identifies the value decoded as {@code resultType} from this GET, for the credential it's sent with
+         */
+        public String getRequestKey(final Class<?> resultType) {
+            return resultType.getName() + " " + getHttpUrl() + " " + headers.get(AUTHORIZATION_FIELD_NAME);
+        }
+
         public Observable<Response> get() {
             return execute(this.createGetRequest());
         }
 
-        public void get(final Callback callback) {
-            execute(this.createGetRequest(), callback);
+        /**
+         * Sends the GET with the validators of the previous response to the same url, if any. When the server
+         * answers 304 Not Modified the value decoded from that previous response is emitted again, without
+         * calling {@code decoder}. The value is shared between both emissions, so it must not be mutated.
+         *
+         * <p>Identical GETs (same url, parameters, credential and {@code resultType}) made while one is in
+         * flight share its call and its decoded value.
+         *
+         * @param resultType tells apart values decoded differently from the same url
+         */
+        public <T> Observable<T> getConditional(final Class<?> resultType, final Decoder<T> decoder,
+                                                final Func1<? super T, Integer> objectCount) {
+            return Observable.defer(() -> {
+                final Request request = createGetRequest();
+                final String requestKey = getRequestKey(resultType);
+                return apiClient.singleFlight.join(requestKey, () -> {
+                    final RevalidationCache.Entry cached = apiClient.revalidationCache.get(requestKey);
+                    return execute(cached != null ? cached.applyTo(request) : request)
+                            .compose(apiClient.toParseScheduler())
+                            .map(response -> {
+                                if (response.code() == HTTP_NOT_MODIFIED) {
+                                    response.close();
+                                    @SuppressWarnings("unchecked")
+                                    final T unchanged = (T) cached.value;
+                                    return unchanged;
+                                }
+                                final T value = apiClient.decodeUnchecked(response, decoder, objectCount);
+                                apiClient.revalidationCache.put(requestKey, response, value);
+                                return value;
+                            });
+                });
+            });
         }
 
         public Observable<Response> post() {
             return execute(this.createPostRequest());
         }
 
-        public void post(final Callback callback) {
-            execute(this.createPostRequest(), callback);
-        }
-
         public Observable<Response> put() {
             return execute(this.createPutRequest());
         }
 
-        public void put(final Callback callback) {
-            execute(this.createPutRequest(), callback);
-        }
-
         public Observable<Response> delete() {
             return execute(this.createDeleteRequest());
         }
 
-        public void delete(final Callback callback) {
-            execute(this.createDeleteRequest(), callback);
-        }
-
-        private Request createGetRequest() {
+        @VisibleForTesting
+        Request createGetRequest() {
             return new Request.Builder()
                     .url(buildRequestUrlWithQueryParameter())
                     .headers(Headers.of(headers))
@@ -181,7 +382,8 @@ public class ApiClient {
                     .build();
         }
 
-        private Request createPostRequest() {
+        @VisibleForTesting
+        Request createPostRequest() {
             return new Request.Builder()
                     .url(buildRequestUrl())
                     .headers(Headers.of(headers))
@@ -221,7 +423,7 @@ public class ApiClient {
 
         private HttpUrl buildRequestUrlWithQueryParameter() {
             for (final Map.Entry<String, String> entry : parameters.entrySet()) {
-                this.urlBuilder.addQueryParameter(entry.getKey(), entry.getValue());
+                this.urlBuilder.setQueryParameter(entry.getKey(), entry.getValue());
             }
 
             return this.urlBuilder.build();
@@ -231,81 +433,73 @@ public class ApiClient {
             if (missingHost) {
                 return Observable.create(subscriber -> subscriber.onError(createUnauthorizedException()));
             } else {
-                return Observable.<Response>create(subscriber -> {
-                    try {
-                        final Response response = apiClient.okHttpClient.newCall(request).execute();
-
-                        if (!response.isSuccessful()) {
-                            throw createExceptionFromResponse(response);
+                // Enqueued rather than executed, so no thread waits for the response: it is emitted from
+                // OkHttp's dispatcher thread, which is released once the emission returns
+                return Observable.create(subscriber -> {
+                    final Call call = apiClient.okHttpClient.newCall(request);
+                    final AtomicBoolean completed = new AtomicBoolean();
+                    // Unsubscribing cancels the call, which also fails any read of the body still in progress. Once
+                    // completed, the subscriber owns the response and may still read its body after unsubscribing
+                    subscriber.add(Subscriptions.create(() -> {
+                        if (!completed.get()) {
+                            call.cancel();
                         }
-
-                        if (shouldSaveCredential) {
-                            saveCredential(request.header(AUTHORIZATION_FIELD_NAME));
+                    }));
+                    call.enqueue(new Callback() {
+                        @Override
+                        public void onFailure(Call call, IOException e) {
+                            if (!subscriber.isUnsubscribed()) {
+                                subscriber.onError(e);
+                            }
                         }
 
-                        subscriber.onNext(response);
-                        subscriber.onCompleted();
-                    } catch (IOException e) {
-                        subscriber.onError(e);
-                    }
-                }).subscribeOn(Schedulers.io()).unsubscribeOn(Schedulers.io());
-            }
-        }
+                        @Override
+                        public void onResponse(Call call, Response response) {
+                            if (!response.isSuccessful() && !isNotModified(request, response)) {
+                                final ApiException exception = ApiException.fromResponse(response);
+                                response.close();
+                                if (!subscriber.isUnsubscribed()) {
+                                    subscriber.onError(exception);
+                                }
+                                return;
+                            }
 
-        private void execute(final Request request, Callback callback) {
-            if (missingHost) {
-                callback.onFailure(null, createUnauthorizedException());
-            } else {
-                apiClient.okHttpClient.newCall(request).enqueue(new Callback() {
-                    @Override
-                    public void onFailure(Call call, IOException e) {
-                        callback.onFailure(call, e);
-                    }
+                            if (subscriber.isUnsubscribed()) {
+                                response.close();
+                                return;
+                            }
 
-                    @Override
-                    public void onResponse(Call call, Response response) throws IOException {
-                        if (response.isSuccessful()) {
                             if (shouldSaveCredential) {
-                                saveCredential(call.request().header(AUTHORIZATION_FIELD_NAME));
+                                saveCredential(request.header(AUTHORIZATION_FIELD_NAME));
                             }
-                            callback.onResponse(call, response);
-                        } else {
-                            callback.onFailure(call, createExceptionFromResponse(response));
+
+                            // Before onNext, as operators such as first() unsubscribe from within it
+                            completed.set(true);
+                            subscriber.onNext(ResponseLeakDetector.track(response, requestTrace));
+                            subscriber.onCompleted();
                         }
-                    }
+                    });
                 });
             }
         }
 
-        private IOException createExceptionFromResponse(Response response) {
-            final String errorName = isClientError(response.code()) ? "Client error" : "Server error";
-            return new IOException(errorName + " occurred with Response code : "
-                    + response.code()
-                    + ", message : "
-                    + response.message()
-                    + ", for url : "
-                    + response.request().url());
-        }
-
-        private IOException createUnauthorizedException() {
-            return new IOException("Unauthorized Access! Please Authorize with calling AccountRequest.authenticate()");
-        }
-
-        private boolean isClientError(int responseCode) {
-            return responseCode >= 400 && responseCode < 500;
+        private UnauthorizedException createUnauthorizedException() {
+            return new UnauthorizedException(
+                    "Unauthorized Access! Please Authorize with calling AccountRequest.authenticate()",
+                    -1, null, null, -1);
         }
 
-        private boolean isServerError(int responseCode) {
-            return responseCode >= 500 && responseCode < 600;
+        private boolean isNotModified(Request request, Response response) {
+            return response.code() == HTTP_NOT_MODIFIED && RevalidationCache.isConditional(request);
         }
 
         private void saveCredential(final String credential) {
-            CryptoUtils.encryptCredential(credential);
+            CredentialStore.saveCredential(credential);
         }
 
         private void addDefaultHeaders() {
             this.headers.put(CONTENT_TYPE_FIELD_NAME, CONTENT_TYPE_APPLICATION_JSON);
-            final String credential = CryptoUtils.getSavedCredential();
+            final String credential = CredentialStore.getCredential();
             if (credential != null) {
                 this.headers.put(AUTHORIZATION_FIELD_NAME, credential);
             }
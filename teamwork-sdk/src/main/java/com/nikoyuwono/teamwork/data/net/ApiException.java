@@ -0,0 +1,141 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import android.support.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.HttpUrl;
+import okhttp3.Response;
+
+/**
+ * An unsuccessful response. The subclass tells the kind of failure, so callers can react to it without
+ * parsing the message.
+ */
+public class ApiException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int MAX_BODY_SNIPPET_BYTES = 512;
+    private static final String HEADER_RETRY_AFTER = "Retry-After";
+
+    private final int code;
+    private final HttpUrl url;
+    private final String bodySnippet;
+    private final long retryAfterMillis;
+
+    ApiException(String message, int code, @Nullable HttpUrl url, @Nullable String bodySnippet,
+                 long retryAfterMillis) {
+        super(message);
+        this.code = code;
+        this.url = url;
+        this.bodySnippet = bodySnippet;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * @return the response code, or -1 if no request was sent
+     */
+    public int getCode() {
+        return code;
+    }
+
+    @Nullable
+    public HttpUrl getUrl() {
+        return url;
+    }
+
+    /**
+     * @return the first 512 bytes of the response body, or null if it couldn't be read
+     */
+    @Nullable
+    public String getBodySnippet() {
+        return bodySnippet;
+    }
+
+    /**
+     * @return how long the server asked to wait before trying again, or -1 if it didn't say
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+
+    /**
+     * @return true if the same request may succeed later: a 408, a 429 or a 5xx other than 501
+     */
+    public boolean isRetryable() {
+        return isRetryable(code);
+    }
+
+    static boolean isRetryable(int code) {
+        return code == 408 || code == 429 || (code >= 500 && code < 600 && code != 501);
+    }
+
+    /**
+     * Reads what it needs from {@code response} without consuming the body, which the caller still has to close.
+     */
+    static ApiException fromResponse(Response response) {
+        final int code = response.code();
+        final String label = isClientError(code) ? "Client error"
+                : isServerError(code) ? "Server error"
+                : "Unexpected response";
+        final String message = label
+                + " occurred with Response code : " + code
+                + ", message : " + response.message()
+                + ", for url : " + response.request().url();
+        final HttpUrl url = response.request().url();
+        final String bodySnippet = readBodySnippet(response);
+        final long retryAfterMillis = retryAfterMillis(response);
+
+        switch (code) {
+            case 401:
+                return new UnauthorizedException(message, code, url, bodySnippet, retryAfterMillis);
+            case 404:
+                return new NotFoundException(message, code, url, bodySnippet, retryAfterMillis);
+            case 429:
+                return new RateLimitedException(message, code, url, bodySnippet, retryAfterMillis);
+            default:
+                if (isClientError(code)) {
+                    return new ClientErrorException(message, code, url, bodySnippet, retryAfterMillis);
+                } else if (isServerError(code)) {
+                    return new ServerErrorException(message, code, url, bodySnippet, retryAfterMillis);
+                }
+                return new ApiException(message, code, url, bodySnippet, retryAfterMillis);
+        }
+    }
+
+    /**
+     * @return the wait asked for by the Retry-After header, in seconds or as a date, or -1 if there is none
+     */
+    static long retryAfterMillis(Response response) {
+        final String retryAfter = response.header(HEADER_RETRY_AFTER);
+        if (retryAfter == null) {
+            return -1;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException e) {
+            final Date date = response.headers().getDate(HEADER_RETRY_AFTER);
+            return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : -1;
+        }
+    }
+
+    @Nullable
+    private static String readBodySnippet(Response response) {
+        try {
+            return response.peekBody(MAX_BODY_SNIPPET_BYTES).string();
+        } catch (IOException | IllegalStateException e) {
+            // Unreadable or already closed, the code is still worth reporting
+            return null;
+        }
+    }
+
+    private static boolean isClientError(int code) {
+        return code >= 400 && code < 500;
+    }
+
+    private static boolean isServerError(int code) {
+        return code >= 500 && code < 600;
+    }
+}
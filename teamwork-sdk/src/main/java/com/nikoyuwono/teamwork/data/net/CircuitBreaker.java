@@ -0,0 +1,301 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import android.support.annotation.VisibleForTesting;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import rx.functions.Func0;
+
+/**
+ * Fails the requests to a host fast while it is failing, instead of letting each one wait for its timeout.
+ *
+ * <p>Each host starts {@link State#CLOSED}. Once at least {@code minimumCalls} of its last {@code windowSize}
+ * requests completed and {@code failureRateThreshold} of them failed with an I/O error or a 5xx, it turns
+ * {@link State#OPEN} and its requests fail with a {@link CircuitBreakerOpenException}. After
+ * {@code openDurationMillis} it turns {@link State#HALF_OPEN} and lets one probe through: the circuit closes
+ * again if the probe succeeds and reopens if it fails.
+ */
+public final class CircuitBreaker implements Interceptor {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    public interface Listener {
+        /**
+         * Called from the thread of the request that caused the change.
+         */
+        void onStateChange(String host, State from, State to);
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final Listener listener;
+    private final Func0<Long> nanoTicker;
+    private final ConcurrentMap<String, HostCircuit> circuits = new ConcurrentHashMap<>();
+
+    private CircuitBreaker(Builder builder) {
+        windowSize = builder.windowSize;
+        minimumCalls = builder.minimumCalls;
+        failureRateThreshold = builder.failureRateThreshold;
+        openDurationNanos = TimeUnit.MILLISECONDS.toNanos(builder.openDurationMillis);
+        listener = builder.listener;
+        nanoTicker = builder.nanoTicker;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the state of {@code host}, {@link State#CLOSED} if no request was made to it yet
+     */
+    public State getState(String host) {
+        final HostCircuit circuit = circuits.get(host);
+        return circuit != null ? circuit.getState() : State.CLOSED;
+    }
+
+    /**
+     * @return the state of every host a request was made to
+     */
+    public Map<String, State> getStates() {
+        final Map<String, State> states = new HashMap<>();
+        for (final Map.Entry<String, HostCircuit> entry : circuits.entrySet()) {
+            states.put(entry.getKey(), entry.getValue().getState());
+        }
+        return states;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        final String host = chain.request().url().host();
+        final HostCircuit circuit = getCircuit(host);
+
+        final long waitNanos = circuit.tryAcquire();
+        if (waitNanos > 0) {
+            throw new CircuitBreakerOpenException(host, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        }
+
+        final Response response;
+        try {
+            response = chain.proceed(chain.request());
+        } catch (IOException e) {
+            if (chain.call().isCanceled()) {
+                circuit.onIgnored();
+            } else {
+                circuit.onResult(true);
+            }
+            throw e;
+        } catch (RuntimeException | Error e) {
+            // A bug says nothing about the host, but a probe must not stay in flight forever
+            circuit.onIgnored();
+            throw e;
+        }
+        circuit.onResult(response.code() >= 500 && response.code() < 600);
+        return response;
+    }
+
+    private HostCircuit getCircuit(String host) {
+        final HostCircuit circuit = circuits.get(host);
+        if (circuit != null) {
+            return circuit;
+        }
+        final HostCircuit created = new HostCircuit(host);
+        final HostCircuit existing = circuits.putIfAbsent(host, created);
+        return existing != null ? existing : created;
+    }
+
+    private void notifyStateChange(String host, State from, State to) {
+        if (to != from && listener != null) {
+            listener.onStateChange(host, from, to);
+        }
+    }
+
+    private final class HostCircuit {
+        private final String host;
+        // Outcomes of the last requests, true for a failure
+        private final boolean[] outcomes = new boolean[windowSize];
+        private int next;
+        private int calls;
+        private int failures;
+        private State state = State.CLOSED;
+        private long openedAtNanos;
+        private boolean probeInFlight;
+
+        HostCircuit(String host) {
+            this.host = host;
+        }
+
+        synchronized State getState() {
+            return state;
+        }
+
+        /**
+         * @return 0 if the request may be sent, otherwise how long until the next probe
+         */
+        long tryAcquire() {
+            final State from;
+            final State to;
+            synchronized (this) {
+                from = state;
+                if (state == State.OPEN) {
+                    final long openNanos = nanoTicker.call() - openedAtNanos;
+                    if (openNanos < openDurationNanos) {
+                        return openDurationNanos - openNanos;
+                    }
+                    state = State.HALF_OPEN;
+                }
+                if (state == State.HALF_OPEN) {
+                    if (probeInFlight) {
+                        return openDurationNanos;
+                    }
+                    probeInFlight = true;
+                }
+                to = state;
+            }
+            notifyStateChange(host, from, to);
+            return 0;
+        }
+
+        void onResult(boolean failed) {
+            final State from;
+            final State to;
+            synchronized (this) {
+                from = state;
+                if (state == State.HALF_OPEN) {
+                    probeInFlight = false;
+                    if (failed) {
+                        open();
+                    } else {
+                        state = State.CLOSED;
+                        resetWindow();
+                    }
+                } else if (state == State.CLOSED) {
+                    record(failed);
+                    if (calls >= minimumCalls && failures >= failureRateThreshold * calls) {
+                        open();
+                    }
+                }
+                // A request sent before the circuit opened doesn't change it while it's open
+                to = state;
+            }
+            notifyStateChange(host, from, to);
+        }
+
+        synchronized void onIgnored() {
+            if (state == State.HALF_OPEN) {
+                probeInFlight = false;
+            }
+        }
+
+        private void record(boolean failed) {
+            if (calls == windowSize) {
+                if (outcomes[next]) {
+                    failures--;
+                }
+            } else {
+                calls++;
+            }
+            outcomes[next] = failed;
+            if (failed) {
+                failures++;
+            }
+            next = (next + 1) % windowSize;
+        }
+
+        private void open() {
+            state = State.OPEN;
+            openedAtNanos = nanoTicker.call();
+            resetWindow();
+        }
+
+        private void resetWindow() {
+            next = 0;
+            calls = 0;
+            failures = 0;
+        }
+    }
+
+    public static final class Builder {
+        private int windowSize = 20;
+        private int minimumCalls = 10;
+        private double failureRateThreshold = 0.5;
+        private long openDurationMillis = 30000;
+        private Listener listener;
+        private Func0<Long> nanoTicker = System::nanoTime;
+
+        private Builder() {
+        }
+
+        /**
+         * How many of the last requests of a host the failure rate is computed on.
+         */
+        public Builder windowSize(int windowSize) {
+            if (windowSize < 1) {
+                throw new IllegalArgumentException("windowSize must be at least 1");
+            }
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * How many requests a host needs in its window before it can be opened.
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            if (minimumCalls < 1) {
+                throw new IllegalArgumentException("minimumCalls must be at least 1");
+            }
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * Share of failed requests, between 0 and 1, opening the circuit.
+         */
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+                throw new IllegalArgumentException("failureRateThreshold must be above 0 and at most 1");
+            }
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * How long an open circuit refuses requests before letting a probe through.
+         */
+        public Builder openDurationMillis(long openDurationMillis) {
+            if (openDurationMillis <= 0) {
+                throw new IllegalArgumentException("openDurationMillis must be positive");
+            }
+            this.openDurationMillis = openDurationMillis;
+            return this;
+        }
+
+        public Builder listener(Listener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        @VisibleForTesting
+        Builder nanoTicker(Func0<Long> nanoTicker) {
+            this.nanoTicker = nanoTicker;
+            return this;
+        }
+
+        public CircuitBreaker build() {
+            if (minimumCalls > windowSize) {
+                throw new IllegalArgumentException("minimumCalls can't be more than windowSize");
+            }
+            return new CircuitBreaker(this);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import java.io.IOException;
+
+/**
+ * A request refused without being sent, because the {@link CircuitBreaker} of its host is open.
+ */
+public class CircuitBreakerOpenException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String host;
+    private final long retryAfterMillis;
+
+    CircuitBreakerOpenException(String host, long retryAfterMillis) {
+        super("Circuit breaker open for " + host + ", next probe in " + retryAfterMillis + " ms");
+        this.host = host;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * @return how long until a probe request is let through
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -0,0 +1,18 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import android.support.annotation.Nullable;
+
+import okhttp3.HttpUrl;
+
+/**
+ * A 4xx response.
+ */
+public class ClientErrorException extends ApiException {
+
+    private static final long serialVersionUID = 1L;
+
+    ClientErrorException(String message, int code, @Nullable HttpUrl url, @Nullable String bodySnippet,
+            long retryAfterMillis) {
+        super(message, code, url, bodySnippet, retryAfterMillis);
+    }
+}
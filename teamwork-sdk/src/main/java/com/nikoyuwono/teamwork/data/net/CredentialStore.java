@@ -0,0 +1,94 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import android.support.annotation.VisibleForTesting;
+
+import com.nikoyuwono.teamwork.Teamwork;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the decrypted credential in memory so it is read and decrypted from the
+ * SharedPreferences only once per process, and refreshed whenever a new one is saved.
+ */
+public final class CredentialStore {
+
+    private static final Object LOCK = new Object();
+
+    private static final AtomicLong writeCount = new AtomicLong();
+    private static final AtomicLong skippedWriteCount = new AtomicLong();
+    private static volatile long lastWriteDurationNanos = 0;
+
+    private static volatile boolean loaded = false;
+    private static volatile String credential;
+
+    private CredentialStore() {
+        throw new AssertionError("This class shouldn't be initialized");
+    }
+
+    /**
+     * @return How many times a new credential has been encrypted and persisted
+     */
+    public static long getWriteCount() {
+        return writeCount.get();
+    }
+
+    /**
+     * @return How many saves were skipped because the credential was already stored
+     */
+    public static long getSkippedWriteCount() {
+        return skippedWriteCount.get();
+    }
+
+    /**
+     * @return Time spent on the calling thread by the last credential write, in nanoseconds
+     */
+    public static long getLastWriteDurationNanos() {
+        return lastWriteDurationNanos;
+    }
+
+    static String getCredential() {
+        if (!loaded) {
+            synchronized (LOCK) {
+                // Nothing can be loaded before Teamwork is initialized, so don't remember that state
+                if (!loaded && Teamwork.getSharedPreferences() != null) {
+                    credential = CryptoUtils.getSavedCredential();
+                    loaded = true;
+                }
+            }
+        }
+        return credential;
+    }
+
+    static void saveCredential(final String credential) {
+        if (credential == null) {
+            return;
+        }
+        if (credential.equals(getCredential())) {
+            skippedWriteCount.incrementAndGet();
+            return;
+        }
+        final long startNanos = System.nanoTime();
+        if (CryptoUtils.encryptCredential(credential)) {
+            lastWriteDurationNanos = System.nanoTime() - startNanos;
+            writeCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drops the credential held in memory, the next request reads it from the SharedPreferences again.
+     */
+    @VisibleForTesting
+    static void invalidate() {
+        synchronized (LOCK) {
+            credential = null;
+            loaded = false;
+        }
+    }
+
+    static void onCredentialSaved(final String credential) {
+        synchronized (LOCK) {
+            CredentialStore.credential = credential;
+            loaded = true;
+        }
+    }
+}
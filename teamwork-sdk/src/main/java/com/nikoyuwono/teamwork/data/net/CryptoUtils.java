@@ -2,6 +2,7 @@ package com.nikoyuwono.teamwork.data.net;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.support.annotation.VisibleForTesting;
 import android.util.Base64;
 
 import com.nikoyuwono.teamwork.Teamwork;
@@ -25,10 +26,10 @@ class CryptoUtils {
         throw new AssertionError("This class shouldn't be initialized");
     }
 
-    static void encryptCredential(String credential) {
+    static boolean encryptCredential(String credential) {
         final SharedPreferences sharedPreferences = Teamwork.getSharedPreferences();
         if (sharedPreferences == null) {
-            return;
+            return false;
         }
         final RandomString randomString = new RandomString();
         final String randomKey = randomString.getRandomString(32);
@@ -40,7 +41,9 @@ class CryptoUtils {
                 .putString(KEY_PREFERENCE_KEY, randomKey)
                 .putString(IV_PREFERENCE_KEY, initVector)
                 .putString(CREDENTIAL_PREFERENCE_KEY, encryptedCredential)
-                .commit();
+                .apply();
+        CredentialStore.onCredentialSaved(credential);
+        return true;
     }
 
     static String getSavedCredential() {
@@ -59,7 +62,8 @@ class CryptoUtils {
         return decrypt(key, initVector, encryptedCredential);
     }
 
-    private static String encrypt(String key, String initVector, String value) {
+    @VisibleForTesting
+    static String encrypt(String key, String initVector, String value) {
         try {
             IvParameterSpec iv = new IvParameterSpec(initVector.getBytes("UTF-8"));
             SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes("UTF-8"), "AES");
@@ -77,7 +81,8 @@ class CryptoUtils {
         return null;
     }
 
-    private static String decrypt(String key, String initVector, String encrypted) {
+    @VisibleForTesting
+    static String decrypt(String key, String initVector, String encrypted) {
         try {
             IvParameterSpec iv = new IvParameterSpec(initVector.getBytes("UTF-8"));
             SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes("UTF-8"), "AES");
@@ -0,0 +1,41 @@
+package com.nikoyuwono.teamwork.data.net;
+
+/**
+ * How long turning a response into model objects took, and how many objects it produced.
+ */
+public final class DecodeMetrics {
+
+    private final String endpoint;
+    private final long durationNanos;
+    private final int objectCount;
+
+    DecodeMetrics(String endpoint, long durationNanos, int objectCount) {
+        this.endpoint = endpoint;
+        this.durationNanos = durationNanos;
+        this.objectCount = objectCount;
+    }
+
+    /**
+     * @see RequestMetrics#getEndpoint()
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public int getObjectCount() {
+        return objectCount;
+    }
+
+    @Override
+    public String toString() {
+        return "DecodeMetrics{" +
+                "endpoint='" + endpoint + '\'' +
+                ", durationNanos=" + durationNanos +
+                ", objectCount=" + objectCount +
+                '}';
+    }
+}
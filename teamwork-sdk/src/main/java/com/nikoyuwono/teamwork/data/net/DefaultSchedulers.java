@@ -0,0 +1,66 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import rx.Scheduler;
+import rx.schedulers.Schedulers;
+
+/**
+ * The schedulers of an {@link ApiClient} built without its own, shared by every such client.
+ */
+final class DefaultSchedulers {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    // By thread count, clients running as many requests per host share their threads
+    private static final Map<Integer, Scheduler> NETWORK = new HashMap<>();
+
+    private DefaultSchedulers() {
+        throw new AssertionError("This class shouldn't be initialized");
+    }
+
+    /**
+     * At most {@code threads} threads, the work beyond waits in a queue. Idle threads stop after a minute.
+     */
+    static synchronized Scheduler network(int threads) {
+        Scheduler network = NETWORK.get(threads);
+        if (network == null) {
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                    KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new NamedThreadFactory("teamwork-network-"));
+            executor.allowCoreThreadTimeOut(true);
+            network = Schedulers.from(executor);
+            NETWORK.put(threads, network);
+        }
+        return network;
+    }
+
+    /**
+     * One thread per CPU core.
+     */
+    static Scheduler parse() {
+        return Schedulers.computation();
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
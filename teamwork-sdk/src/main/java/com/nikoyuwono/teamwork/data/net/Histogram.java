@@ -0,0 +1,83 @@
+package com.nikoyuwono.teamwork.data.net;
+
+/**
+ * Distribution of non-negative values in power-of-two buckets, so recording is constant time and memory
+ * whatever the range. Percentiles are reported as the upper bound of their bucket, at most twice the real value.
+ */
+public final class Histogram {
+
+    private static final int BUCKET_COUNT = 64;
+
+    private final long[] buckets = new long[BUCKET_COUNT];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    public synchronized void record(long value) {
+        if (value < 0) {
+            return;
+        }
+        buckets[bucketOf(value)]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getSum() {
+        return sum;
+    }
+
+    /**
+     * @return the smallest value recorded, or 0 if there is none
+     */
+    public synchronized long getMin() {
+        return count > 0 ? min : 0;
+    }
+
+    /**
+     * @return the largest value recorded, or 0 if there is none
+     */
+    public synchronized long getMax() {
+        return count > 0 ? max : 0;
+    }
+
+    public synchronized double getMean() {
+        return count > 0 ? (double) sum / count : 0;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return a value at least as large as {@code percentile} percent of the recorded values, or 0 if there is none
+     */
+    public synchronized long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += buckets[bucket];
+            if (seen >= rank) {
+                return Math.min(max, upperBoundOf(bucket));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Bucket 0 holds 0, bucket n holds the values from 2^(n-1) to 2^n - 1.
+     */
+    private static int bucketOf(long value) {
+        return BUCKET_COUNT - Long.numberOfLeadingZeros(value);
+    }
+
+    private static long upperBoundOf(int bucket) {
+        return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
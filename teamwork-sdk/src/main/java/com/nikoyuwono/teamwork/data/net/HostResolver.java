@@ -0,0 +1,98 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import android.content.SharedPreferences;
+
+import com.nikoyuwono.teamwork.Teamwork;
+
+import okhttp3.HttpUrl;
+
+import static com.nikoyuwono.teamwork.data.net.ApiClient.HOST_PREFERENCE_KEY;
+
+/**
+ * Holds the account host as a ready-made base {@link HttpUrl} so building a request
+ * doesn't need a SharedPreferences lookup nor host parsing.
+ * The cached url is dropped whenever {@link ApiClient#HOST_PREFERENCE_KEY} changes.
+ */
+public final class HostResolver {
+
+    private static final String AUTHENTICATE_HOST = "authenticate.teamworkpm.net";
+    private static final String SCHEME = "https";
+
+    private static final Object LOCK = new Object();
+
+    // SharedPreferences only keeps a weak reference to its listeners
+    private static final SharedPreferences.OnSharedPreferenceChangeListener HOST_CHANGE_LISTENER =
+            (sharedPreferences, key) -> {
+                if (HOST_PREFERENCE_KEY.equals(key)) {
+                    invalidate();
+                }
+            };
+
+    private static volatile HttpUrl baseUrl;
+    private static SharedPreferences observedPreferences;
+
+    private HostResolver() {
+        throw new AssertionError("This class shouldn't be initialized");
+    }
+
+    public static void saveHost(final String host) {
+        final SharedPreferences sharedPreferences = Teamwork.getSharedPreferences();
+        if (sharedPreferences == null) {
+            return;
+        }
+        sharedPreferences.edit()
+                .putString(HOST_PREFERENCE_KEY, host)
+                .apply();
+        synchronized (LOCK) {
+            baseUrl = createBaseUrl(host);
+        }
+    }
+
+    /**
+     * @return The base url of the account, or null if no host is available
+     */
+    static HttpUrl getBaseUrl() {
+        final HttpUrl cachedUrl = baseUrl;
+        if (cachedUrl != null) {
+            return cachedUrl;
+        }
+
+        final SharedPreferences sharedPreferences = Teamwork.getSharedPreferences();
+        if (sharedPreferences == null) {
+            // Not initialized yet, don't cache anything until the preferences are available
+            return createBaseUrl(AUTHENTICATE_HOST);
+        }
+
+        synchronized (LOCK) {
+            if (baseUrl == null) {
+                observe(sharedPreferences);
+                final String host = sharedPreferences.getString(HOST_PREFERENCE_KEY, AUTHENTICATE_HOST);
+                baseUrl = host != null ? createBaseUrl(host) : null;
+            }
+            return baseUrl;
+        }
+    }
+
+    static void invalidate() {
+        synchronized (LOCK) {
+            baseUrl = null;
+        }
+    }
+
+    private static void observe(final SharedPreferences sharedPreferences) {
+        if (observedPreferences != sharedPreferences) {
+            if (observedPreferences != null) {
+                observedPreferences.unregisterOnSharedPreferenceChangeListener(HOST_CHANGE_LISTENER);
+            }
+            sharedPreferences.registerOnSharedPreferenceChangeListener(HOST_CHANGE_LISTENER);
+            observedPreferences = sharedPreferences;
+        }
+    }
+
+    private static HttpUrl createBaseUrl(final String host) {
+        return new HttpUrl.Builder()
+                .scheme(SCHEME)
+                .host(host)
+                .build();
+    }
+}
@@ -0,0 +1,193 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import android.support.annotation.Nullable;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import rx.functions.Func0;
+
+/**
+ * Times the phases of one call and hands them to the {@link MetricsSink} once the call ends.
+ *
+ * <p>OkHttp ends the call after each attempt made by the {@link RetryInterceptor}, which therefore defers the
+ * report to the end of its last attempt, see {@link #of(Call)}.
+ */
+final class MetricsEventListener extends EventListener {
+
+    // Weak keys, a call that never ends doesn't keep its listener
+    private static final Map<Call, MetricsEventListener> LISTENERS =
+            Collections.synchronizedMap(new WeakHashMap<Call, MetricsEventListener>());
+
+    private final MetricsSink metricsSink;
+    private final Func0<Long> nanoTicker;
+
+    private long callStartNanos;
+    private long dnsStartNanos;
+    private long dnsNanos = -1;
+    private long connectStartNanos;
+    private long connectNanos = -1;
+    private long tlsStartNanos;
+    private long tlsNanos = -1;
+    private long requestHeadersStartNanos;
+    private long timeToFirstByteNanos = -1;
+    private long responseBodyStartNanos;
+    private long bodyNanos = -1;
+    private long requestBytes;
+    private long responseBytes;
+    private int code = -1;
+    private IOException error;
+    private Call call;
+    private boolean reported;
+    private boolean deferred;
+    private boolean lastAttempt;
+    private boolean attemptEnded;
+
+    MetricsEventListener(MetricsSink metricsSink, Func0<Long> nanoTicker) {
+        this.metricsSink = metricsSink;
+        this.nanoTicker = nanoTicker;
+    }
+
+    /**
+     * @return the listener timing {@code call}, or null if there is none
+     */
+    @Nullable
+    static MetricsEventListener of(Call call) {
+        return LISTENERS.get(call);
+    }
+
+    /**
+     * Waits for {@link #onLastAttempt()} before reporting, as the call may be attempted again once it ends.
+     */
+    synchronized void deferReport() {
+        deferred = true;
+    }
+
+    /**
+     * Another attempt follows the one that just ended: the phases are timed anew, the bytes keep adding up.
+     */
+    synchronized void onRetry() {
+        dnsNanos = -1;
+        connectNanos = -1;
+        tlsNanos = -1;
+        timeToFirstByteNanos = -1;
+        bodyNanos = -1;
+        code = -1;
+        error = null;
+        attemptEnded = false;
+    }
+
+    /**
+     * No attempt follows the current one, the call is reported once it ends, or right away if it already did.
+     */
+    synchronized void onLastAttempt() {
+        lastAttempt = true;
+        if (attemptEnded) {
+            report();
+        }
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStartNanos = nanoTicker.call();
+        LISTENERS.put(call, this);
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStartNanos = nanoTicker.call();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        dnsNanos = nanoTicker.call() - dnsStartNanos;
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStartNanos = nanoTicker.call();
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        tlsStartNanos = nanoTicker.call();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        tlsNanos = nanoTicker.call() - tlsStartNanos;
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        connectNanos = nanoTicker.call() - connectStartNanos;
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        requestHeadersStartNanos = nanoTicker.call();
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        requestBytes += byteCount;
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        timeToFirstByteNanos = nanoTicker.call() - requestHeadersStartNanos;
+        code = response.code();
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        responseBodyStartNanos = nanoTicker.call();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        bodyNanos = nanoTicker.call() - responseBodyStartNanos;
+        responseBytes += byteCount;
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        onAttemptEnd(call, null);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        onAttemptEnd(call, ioe);
+    }
+
+    private synchronized void onAttemptEnd(Call call, @Nullable IOException ioe) {
+        this.call = call;
+        error = ioe;
+        attemptEnded = true;
+        if (!deferred || lastAttempt) {
+            report();
+        }
+    }
+
+    private void report() {
+        if (reported) {
+            return;
+        }
+        reported = true;
+        LISTENERS.remove(call);
+        metricsSink.onRequest(new RequestMetrics(RequestMetrics.endpointOf(call.request()), call.request().url(),
+                error != null ? -1 : code, error, dnsNanos, connectNanos, tlsNanos, timeToFirstByteNanos, bodyNanos,
+                nanoTicker.call() - callStartNanos, requestBytes, responseBytes));
+    }
+}
@@ -0,0 +1,69 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import android.support.annotation.Nullable;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link MetricsSink} keeping one {@link Histogram} per endpoint and {@link Metric}. Durations are in nanoseconds.
+ */
+public class MetricsRegistry implements MetricsSink {
+
+    public enum Metric {
+        DNS, CONNECT, TLS, TIME_TO_FIRST_BYTE, BODY, TOTAL, REQUEST_BYTES, RESPONSE_BYTES, DECODE, DECODED_OBJECTS
+    }
+
+    private final ConcurrentMap<String, Map<Metric, Histogram>> endpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public void onRequest(RequestMetrics metrics) {
+        final Map<Metric, Histogram> histograms = histogramsOf(metrics.getEndpoint());
+        // Phases that didn't happen are -1, which Histogram ignores
+        histograms.get(Metric.DNS).record(metrics.getDnsNanos());
+        histograms.get(Metric.CONNECT).record(metrics.getConnectNanos());
+        histograms.get(Metric.TLS).record(metrics.getTlsNanos());
+        histograms.get(Metric.TIME_TO_FIRST_BYTE).record(metrics.getTimeToFirstByteNanos());
+        histograms.get(Metric.BODY).record(metrics.getBodyNanos());
+        histograms.get(Metric.TOTAL).record(metrics.getTotalNanos());
+        histograms.get(Metric.REQUEST_BYTES).record(metrics.getRequestBytes());
+        histograms.get(Metric.RESPONSE_BYTES).record(metrics.getResponseBytes());
+    }
+
+    @Override
+    public void onDecode(DecodeMetrics metrics) {
+        final Map<Metric, Histogram> histograms = histogramsOf(metrics.getEndpoint());
+        histograms.get(Metric.DECODE).record(metrics.getDurationNanos());
+        histograms.get(Metric.DECODED_OBJECTS).record(metrics.getObjectCount());
+    }
+
+    /**
+     * @return every endpoint with metrics, e.g. {@code GET /projects/{id}.json}
+     */
+    public Set<String> getEndpoints() {
+        return endpoints.keySet();
+    }
+
+    @Nullable
+    public Histogram getHistogram(String endpoint, Metric metric) {
+        final Map<Metric, Histogram> histograms = endpoints.get(endpoint);
+        return histograms != null ? histograms.get(metric) : null;
+    }
+
+    private Map<Metric, Histogram> histogramsOf(String endpoint) {
+        final Map<Metric, Histogram> histograms = endpoints.get(endpoint);
+        if (histograms != null) {
+            return histograms;
+        }
+        // Filled before being shared, never modified after
+        final Map<Metric, Histogram> created = new EnumMap<>(Metric.class);
+        for (final Metric metric : Metric.values()) {
+            created.put(metric, new Histogram());
+        }
+        final Map<Metric, Histogram> existing = endpoints.putIfAbsent(endpoint, created);
+        return existing != null ? existing : created;
+    }
+}
@@ -0,0 +1,14 @@
+package com.nikoyuwono.teamwork.data.net;
+
+/**
+ * Receives the metrics of every request made and response decoded through an {@link ApiClient}, e.g. to forward
+ * them to an analytics backend. {@link MetricsRegistry} keeps them as per-endpoint histograms.
+ *
+ * <p>Both methods are called from the thread that made the request or decoded the response and should return fast.
+ */
+public interface MetricsSink {
+
+    void onRequest(RequestMetrics metrics);
+
+    void onDecode(DecodeMetrics metrics);
+}
@@ -0,0 +1,18 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import android.support.annotation.Nullable;
+
+import okhttp3.HttpUrl;
+
+/**
+ * A 429 response, {@link #getRetryAfterMillis()} tells how long to wait when the server said so.
+ */
+public class RateLimitedException extends ClientErrorException {
+
+    private static final long serialVersionUID = 1L;
+
+    RateLimitedException(String message, int code, @Nullable HttpUrl url, @Nullable String bodySnippet,
+            long retryAfterMillis) {
+        super(message, code, url, bodySnippet, retryAfterMillis);
+    }
+}
@@ -0,0 +1,165 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import android.support.annotation.VisibleForTesting;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import rx.functions.Func0;
+
+/**
+ * Token bucket keeping the requests under a per-minute budget. A request over budget waits for its permit
+ * instead of failing, and permits are handed out in the order they were asked for.
+ *
+ * <p>The budget follows the {@code X-RateLimit-Limit} header of the responses, the bucket is drained when
+ * {@code X-RateLimit-Remaining} says the server budget is spent, until {@code X-RateLimit-Reset} seconds
+ * later, and a 429 pauses it for the {@code Retry-After} seconds.
+ */
+public final class RateLimiter implements Interceptor {
+
+    private static final String HEADER_LIMIT = "X-RateLimit-Limit";
+    private static final String HEADER_REMAINING = "X-RateLimit-Remaining";
+    private static final String HEADER_RESET = "X-RateLimit-Reset";
+    private static final String HEADER_RETRY_AFTER = "Retry-After";
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    private final Func0<Long> nanoTicker;
+    private final Sleeper sleeper;
+
+    private int permitsPerMinute;
+    private long intervalNanos;
+    private double storedPermits;
+    private long nextFreeNanos;
+    private long pausedUntilNanos;
+
+    public RateLimiter(int permitsPerMinute) {
+        this(permitsPerMinute, System::nanoTime, Sleeper.THREAD);
+    }
+
+    @VisibleForTesting
+    RateLimiter(int permitsPerMinute, Func0<Long> nanoTicker, Sleeper sleeper) {
+        checkPermitsPerMinute(permitsPerMinute);
+        this.nanoTicker = nanoTicker;
+        this.sleeper = sleeper;
+        this.permitsPerMinute = permitsPerMinute;
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / permitsPerMinute;
+        // Start full, so a cold start isn't throttled
+        this.storedPermits = permitsPerMinute;
+        this.nextFreeNanos = nanoTicker.call();
+        this.pausedUntilNanos = nextFreeNanos;
+    }
+
+    public synchronized int getPermitsPerMinute() {
+        return permitsPerMinute;
+    }
+
+    /**
+     * Changes the budget, which is also the largest burst let through at once.
+     */
+    public synchronized void setPermitsPerMinute(int permitsPerMinute) {
+        checkPermitsPerMinute(permitsPerMinute);
+        resync(nanoTicker.call());
+        this.permitsPerMinute = permitsPerMinute;
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / permitsPerMinute;
+        this.storedPermits = Math.min(storedPermits, permitsPerMinute);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        acquire(chain.call());
+        final Response response = chain.proceed(chain.request());
+        onResponse(response);
+        return response;
+    }
+
+    /**
+     * Blocks until a permit is available, or until {@code call} is canceled.
+     */
+    @VisibleForTesting
+    void acquire(Call call) throws IOException {
+        final long waitNanos = reserve();
+        if (waitNanos > 0) {
+            try {
+                sleeper.sleep(waitNanos, call);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a rate limit permit");
+            }
+        }
+    }
+
+    /**
+     * Takes the next permit, stored or future, and returns how long to wait for it.
+     */
+    private synchronized long reserve() {
+        final long now = nanoTicker.call();
+        resync(now);
+        if (storedPermits >= 1) {
+            storedPermits -= 1;
+        } else {
+            nextFreeNanos += (long) ((1 - storedPermits) * intervalNanos);
+            storedPermits = 0;
+        }
+        return Math.max(Math.max(0, nextFreeNanos - now), pausedUntilNanos - now);
+    }
+
+    private void resync(long now) {
+        if (now > nextFreeNanos) {
+            storedPermits = Math.min(permitsPerMinute, storedPermits + (double) (now - nextFreeNanos) / intervalNanos);
+            nextFreeNanos = now;
+        }
+    }
+
+    private void onResponse(Response response) {
+        final int limit = parseInt(response.header(HEADER_LIMIT));
+        final int remaining = parseInt(response.header(HEADER_REMAINING));
+        final int resetSeconds = parseInt(response.header(HEADER_RESET));
+        final int retryAfterSeconds = parseInt(response.header(HEADER_RETRY_AFTER));
+
+        synchronized (this) {
+            if (limit > 0 && limit != permitsPerMinute) {
+                setPermitsPerMinute(limit);
+            }
+            if (response.code() == HTTP_TOO_MANY_REQUESTS) {
+                pause(retryAfterSeconds >= 0 ? retryAfterSeconds : resetSeconds);
+            } else if (remaining == 0) {
+                pause(resetSeconds);
+            } else if (remaining > 0) {
+                storedPermits = Math.min(storedPermits, remaining);
+            }
+        }
+    }
+
+    private void pause(int seconds) {
+        final long now = nanoTicker.call();
+        resync(now);
+        storedPermits = 0;
+        if (seconds > 0) {
+            pausedUntilNanos = Math.max(pausedUntilNanos, now + TimeUnit.SECONDS.toNanos(seconds));
+        }
+        // Nothing is stored during the pause and the permits handed out meanwhile come one interval apart after
+        // it, so the requests waiting for it don't all go at once
+        nextFreeNanos = Math.max(nextFreeNanos, pausedUntilNanos);
+    }
+
+    private static void checkPermitsPerMinute(int permitsPerMinute) {
+        if (permitsPerMinute <= 0) {
+            throw new IllegalArgumentException("permitsPerMinute must be positive");
+        }
+    }
+
+    private static int parseInt(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import android.support.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+
+/**
+ * Where the time of one call went. A phase that didn't happen, e.g. DNS and connect on a pooled connection,
+ * is -1. When the call was retried the phases are the ones of its last attempt and the bytes are summed.
+ */
+public final class RequestMetrics {
+
+    private static final Pattern ID_SEGMENT = Pattern.compile("\\d+(\\.\\w+)?");
+
+    private final String endpoint;
+    private final HttpUrl url;
+    private final int code;
+    private final IOException error;
+    private final long dnsNanos;
+    private final long connectNanos;
+    private final long tlsNanos;
+    private final long timeToFirstByteNanos;
+    private final long bodyNanos;
+    private final long totalNanos;
+    private final long requestBytes;
+    private final long responseBytes;
+
+    RequestMetrics(String endpoint, HttpUrl url, int code, @Nullable IOException error,
+                   long dnsNanos, long connectNanos, long tlsNanos, long timeToFirstByteNanos, long bodyNanos,
+                   long totalNanos, long requestBytes, long responseBytes) {
+        this.endpoint = endpoint;
+        this.url = url;
+        this.code = code;
+        this.error = error;
+        this.dnsNanos = dnsNanos;
+        this.connectNanos = connectNanos;
+        this.tlsNanos = tlsNanos;
+        this.timeToFirstByteNanos = timeToFirstByteNanos;
+        this.bodyNanos = bodyNanos;
+        this.totalNanos = totalNanos;
+        this.requestBytes = requestBytes;
+        this.responseBytes = responseBytes;
+    }
+
+    /**
+     * The method and path of {@code request} with its numeric segments replaced by {id}, so that every project
+     * shares one endpoint, e.g. {@code GET /projects/{id}.json}.
+     */
+    static String endpointOf(Request request) {
+        final StringBuilder endpoint = new StringBuilder(request.method()).append(' ');
+        for (final String segment : request.url().pathSegments()) {
+            endpoint.append('/');
+            if (ID_SEGMENT.matcher(segment).matches()) {
+                final int extension = segment.indexOf('.');
+                endpoint.append("{id}").append(extension >= 0 ? segment.substring(extension) : "");
+            } else {
+                endpoint.append(segment);
+            }
+        }
+        return endpoint.toString();
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public HttpUrl getUrl() {
+        return url;
+    }
+
+    /**
+     * @return the response code, or -1 if the call failed with {@link #getError()}
+     */
+    public int getCode() {
+        return code;
+    }
+
+    @Nullable
+    public IOException getError() {
+        return error;
+    }
+
+    public long getDnsNanos() {
+        return dnsNanos;
+    }
+
+    /**
+     * @return the time to open the connection, TLS handshake included
+     */
+    public long getConnectNanos() {
+        return connectNanos;
+    }
+
+    public long getTlsNanos() {
+        return tlsNanos;
+    }
+
+    /**
+     * @return from the request headers being sent to the response headers being received
+     */
+    public long getTimeToFirstByteNanos() {
+        return timeToFirstByteNanos;
+    }
+
+    /**
+     * @return from the first to the last read of the body. Streaming decoders read while decoding, so for them
+     * this includes the decoding time.
+     */
+    public long getBodyNanos() {
+        return bodyNanos;
+    }
+
+    /**
+     * @return from the call being started to the body being closed or the call failing
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestMetrics{" +
+                "endpoint='" + endpoint + '\'' +
+                ", code=" + code +
+                ", error=" + error +
+                ", dnsNanos=" + dnsNanos +
+                ", connectNanos=" + connectNanos +
+                ", tlsNanos=" + tlsNanos +
+                ", timeToFirstByteNanos=" + timeToFirstByteNanos +
+                ", bodyNanos=" + bodyNanos +
+                ", totalNanos=" + totalNanos +
+                ", requestBytes=" + requestBytes +
+                ", responseBytes=" + responseBytes +
+                '}';
+    }
+}
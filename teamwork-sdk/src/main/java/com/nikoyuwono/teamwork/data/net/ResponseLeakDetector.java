@@ -0,0 +1,162 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.util.Log;
+
+import java.io.IOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import okhttp3.MediaType;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * Reports responses handed out by {@link ApiClient} that were garbage collected without their body being closed,
+ * together with the service method that made the request. It is meant for debug builds:
+ * {@code Teamwork.initialize} enables it for debuggable applications and it costs nothing while disabled.
+ */
+public final class ResponseLeakDetector {
+
+    private static final String TAG = "Teamwork";
+
+    public interface Reporter {
+        /**
+         * @param origin       the frame that created the request, e.g. {@code ProjectServiceImpl.getProject(...)}
+         * @param requestTrace the stack trace captured when the request was created
+         */
+        void onLeak(String origin, Throwable requestTrace);
+    }
+
+    private static final Reporter LOG_REPORTER = (origin, requestTrace) ->
+            Log.w(TAG, "A response created by " + origin + " was never closed", requestTrace);
+
+    private static final ReferenceQueue<ResponseBody> QUEUE = new ReferenceQueue<>();
+    private static final Set<BodyReference> TRACKED =
+            Collections.newSetFromMap(new ConcurrentHashMap<BodyReference, Boolean>());
+
+    private static volatile Reporter reporter;
+
+    private ResponseLeakDetector() {
+        throw new AssertionError("This class shouldn't be initialized");
+    }
+
+    public static void enable() {
+        enable(LOG_REPORTER);
+    }
+
+    public static void enable(final Reporter reporter) {
+        ResponseLeakDetector.reporter = reporter;
+    }
+
+    public static void disable() {
+        reporter = null;
+        TRACKED.clear();
+    }
+
+    public static boolean isEnabled() {
+        return reporter != null;
+    }
+
+    /**
+     * @return the current stack trace if the detector is enabled, null otherwise
+     */
+    @Nullable
+    static Throwable captureRequestTrace() {
+        return isEnabled() ? new Throwable("Request created here") : null;
+    }
+
+    /**
+     * Wraps the body of {@code response} so it is reported if it gets collected before being closed.
+     */
+    static Response track(final Response response, @Nullable final Throwable requestTrace) {
+        final Reporter currentReporter = reporter;
+        if (currentReporter == null || requestTrace == null || response.body() == null) {
+            return response;
+        }
+        reportLeaks();
+        final TrackedBody trackedBody = new TrackedBody(response.body());
+        trackedBody.reference = new BodyReference(trackedBody, requestTrace);
+        TRACKED.add(trackedBody.reference);
+        return response.newBuilder()
+                .body(trackedBody)
+                .build();
+    }
+
+    /**
+     * Reports every tracked body collected since the last call. Also called each time a response is tracked.
+     */
+    @VisibleForTesting
+    static void reportLeaks() {
+        BodyReference reference;
+        while ((reference = (BodyReference) QUEUE.poll()) != null) {
+            final Reporter currentReporter = reporter;
+            if (TRACKED.remove(reference) && currentReporter != null) {
+                currentReporter.onLeak(origin(reference.requestTrace), reference.requestTrace);
+            }
+        }
+    }
+
+    private static String origin(final Throwable requestTrace) {
+        for (final StackTraceElement element : requestTrace.getStackTrace()) {
+            final String className = element.getClassName();
+            if (!className.startsWith(ApiClient.class.getName())
+                    && !className.equals(ResponseLeakDetector.class.getName())) {
+                final String simpleName = className.substring(className.lastIndexOf('.') + 1);
+                return simpleName + "." + element.getMethodName()
+                        + "(" + element.getFileName() + ":" + element.getLineNumber() + ")";
+            }
+        }
+        return "an unknown caller";
+    }
+
+    private static final class BodyReference extends WeakReference<ResponseBody> {
+        private final Throwable requestTrace;
+
+        BodyReference(final ResponseBody body, final Throwable requestTrace) {
+            super(body, QUEUE);
+            this.requestTrace = requestTrace;
+        }
+    }
+
+    private static final class TrackedBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private BodyReference reference;
+        private BufferedSource source;
+
+        TrackedBody(final ResponseBody delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public synchronized BufferedSource source() {
+            if (source == null) {
+                source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                    @Override
+                    public void close() throws IOException {
+                        TRACKED.remove(reference);
+                        super.close();
+                    }
+                });
+            }
+            return source;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import android.support.annotation.Nullable;
+
+import java.io.IOException;
+
+import okhttp3.HttpUrl;
+
+/**
+ * The outcome of one attempt of a request, as reported to {@link RetryPolicy.Listener}.
+ */
+public final class RetryAttempt {
+
+    private final String method;
+    private final HttpUrl url;
+    private final int attempt;
+    private final long durationMillis;
+    private final int code;
+    private final IOException error;
+    private final long retryDelayMillis;
+
+    RetryAttempt(String method, HttpUrl url, int attempt, long durationMillis, int code,
+                 @Nullable IOException error, long retryDelayMillis) {
+        this.method = method;
+        this.url = url;
+        this.attempt = attempt;
+        this.durationMillis = durationMillis;
+        this.code = code;
+        this.error = error;
+        this.retryDelayMillis = retryDelayMillis;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public HttpUrl getUrl() {
+        return url;
+    }
+
+    /**
+     * @return 1 for the first attempt
+     */
+    public int getAttempt() {
+        return attempt;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * @return the response code, or -1 if the attempt failed with {@link #getError()}
+     */
+    public int getCode() {
+        return code;
+    }
+
+    @Nullable
+    public IOException getError() {
+        return error;
+    }
+
+    public boolean willRetry() {
+        return retryDelayMillis >= 0;
+    }
+
+    /**
+     * @return how long until the next attempt, or -1 if there is none
+     */
+    public long getRetryDelayMillis() {
+        return retryDelayMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryAttempt{" +
+                "method='" + method + '\'' +
+                ", url=" + url +
+                ", attempt=" + attempt +
+                ", durationMillis=" + durationMillis +
+                ", code=" + code +
+                ", error=" + error +
+                ", retryDelayMillis=" + retryDelayMillis +
+                '}';
+    }
+}
@@ -0,0 +1,143 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import rx.functions.Func0;
+
+/**
+ * Runs the attempts of a request as described by its {@link RetryPolicy}.
+ */
+final class RetryInterceptor implements Interceptor {
+
+    private static final Set<String> IDEMPOTENT_METHODS = new HashSet<>(Arrays.asList("GET", "PUT", "DELETE"));
+
+    private final RetryPolicy retryPolicy;
+    private final Func0<Long> nanoTicker;
+    private final Sleeper sleeper;
+    private final Random random;
+
+    RetryInterceptor(RetryPolicy retryPolicy) {
+        this(retryPolicy, System::nanoTime, Sleeper.THREAD, new Random());
+    }
+
+    @VisibleForTesting
+    RetryInterceptor(RetryPolicy retryPolicy, Func0<Long> nanoTicker, Sleeper sleeper, Random random) {
+        this.retryPolicy = retryPolicy;
+        this.nanoTicker = nanoTicker;
+        this.sleeper = sleeper;
+        this.random = random;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        final Request request = chain.request();
+        if (!IDEMPOTENT_METHODS.contains(request.method())) {
+            return chain.proceed(request);
+        }
+
+        final MetricsEventListener metrics = MetricsEventListener.of(chain.call());
+        if (metrics == null) {
+            return proceedWithRetries(chain, null);
+        }
+        // The call ends after every attempt, only the last one is reported
+        metrics.deferReport();
+        try {
+            return proceedWithRetries(chain, metrics);
+        } finally {
+            metrics.onLastAttempt();
+        }
+    }
+
+    private Response proceedWithRetries(Chain chain, @Nullable MetricsEventListener metrics) throws IOException {
+        final Request request = chain.request();
+        final long startNanos = nanoTicker.call();
+        for (int attempt = 1; ; attempt++) {
+            final long attemptStartNanos = nanoTicker.call();
+            Response response = null;
+            IOException error = null;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                error = e;
+            }
+            final long endNanos = nanoTicker.call();
+            final long retryDelayMillis = chain.call().isCanceled()
+                    ? -1
+                    : retryDelayMillis(attempt, endNanos - startNanos, response, error);
+            report(new RetryAttempt(request.method(), request.url(), attempt,
+                    TimeUnit.NANOSECONDS.toMillis(endNanos - attemptStartNanos),
+                    response != null ? response.code() : -1, error, retryDelayMillis));
+
+            if (retryDelayMillis < 0) {
+                if (error != null) {
+                    throw error;
+                }
+                return response;
+            }
+            if (response != null) {
+                response.close();
+            }
+            if (metrics != null) {
+                metrics.onRetry();
+            }
+            try {
+                sleeper.sleep(TimeUnit.MILLISECONDS.toNanos(retryDelayMillis), chain.call());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to retry " + request.url());
+            }
+        }
+    }
+
+    /**
+     * @return how long to wait before the next attempt, or -1 to give up
+     */
+    private long retryDelayMillis(int attempt, long elapsedNanos, @Nullable Response response,
+                                  @Nullable IOException error) {
+        if (attempt >= retryPolicy.getMaxAttempts()) {
+            return -1;
+        }
+        if (error != null ? !isRetryable(error) : !ApiException.isRetryable(response.code())) {
+            return -1;
+        }
+
+        long delayMillis = retryPolicy.backoffMillis(attempt, random.nextDouble());
+        final long retryAfterMillis = response != null ? ApiException.retryAfterMillis(response) : -1;
+        if (retryAfterMillis >= 0) {
+            delayMillis = retryAfterMillis;
+        }
+
+        if (TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + delayMillis > retryPolicy.getMaxElapsedMillis()) {
+            return -1;
+        }
+        return delayMillis;
+    }
+
+    private static boolean isRetryable(IOException error) {
+        if (error instanceof CircuitBreakerOpenException) {
+            return false;
+        }
+        // A timeout is worth another try, an interrupted thread isn't
+        return !(error instanceof InterruptedIOException) || error instanceof SocketTimeoutException;
+    }
+
+    private void report(RetryAttempt attempt) {
+        final RetryPolicy.Listener listener = retryPolicy.getListener();
+        if (listener != null) {
+            listener.onAttempt(attempt);
+        }
+    }
+}
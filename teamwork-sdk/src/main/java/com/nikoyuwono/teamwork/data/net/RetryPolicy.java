@@ -0,0 +1,146 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import android.support.annotation.Nullable;
+
+/**
+ * How {@link ApiClient} retries idempotent requests (GET, PUT and DELETE) failing with an I/O error or a response
+ * for which {@link ApiException#isRetryable()} holds.
+ * The n-th retry waits {@code initialBackoffMillis * multiplier^(n-1)}, at most {@code maxBackoffMillis}, minus
+ * a random share of up to {@code jitter} of it, or what {@code Retry-After} asks for. No retry is made once it
+ * would end past {@code maxElapsedMillis} from the first attempt.
+ */
+public final class RetryPolicy {
+
+    public interface Listener {
+        /**
+         * Called after every attempt of a retryable request, from the thread running it.
+         */
+        void onAttempt(RetryAttempt attempt);
+    }
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final double multiplier;
+    private final double jitter;
+    private final long maxElapsedMillis;
+    private final Listener listener;
+
+    private RetryPolicy(Builder builder) {
+        maxAttempts = builder.maxAttempts;
+        initialBackoffMillis = builder.initialBackoffMillis;
+        maxBackoffMillis = builder.maxBackoffMillis;
+        multiplier = builder.multiplier;
+        jitter = builder.jitter;
+        maxElapsedMillis = builder.maxElapsedMillis;
+        listener = builder.listener;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getInitialBackoffMillis() {
+        return initialBackoffMillis;
+    }
+
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    public long getMaxElapsedMillis() {
+        return maxElapsedMillis;
+    }
+
+    @Nullable
+    public Listener getListener() {
+        return listener;
+    }
+
+    /**
+     * @param retry 1 for the first retry
+     * @param random between 0 and 1
+     * @return how long to wait before that retry
+     */
+    long backoffMillis(int retry, double random) {
+        final double backoff = Math.min(maxBackoffMillis, initialBackoffMillis * Math.pow(multiplier, retry - 1));
+        return (long) (backoff * (1 - jitter * random));
+    }
+
+    public static final class Builder {
+        private int maxAttempts = 3;
+        private long initialBackoffMillis = 500;
+        private long maxBackoffMillis = 10000;
+        private double multiplier = 2;
+        private double jitter = 0.5;
+        private long maxElapsedMillis = 30000;
+        private Listener listener;
+
+        private Builder() {
+        }
+
+        /**
+         * Attempts made in total, the first one included. 1 disables retries.
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be at least 1");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        public Builder initialBackoffMillis(long initialBackoffMillis) {
+            this.initialBackoffMillis = initialBackoffMillis;
+            return this;
+        }
+
+        public Builder maxBackoffMillis(long maxBackoffMillis) {
+            this.maxBackoffMillis = maxBackoffMillis;
+            return this;
+        }
+
+        public Builder multiplier(double multiplier) {
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * Share of the backoff, between 0 and 1, randomly taken off each wait so that clients failing together
+         * don't retry together.
+         */
+        public Builder jitter(double jitter) {
+            if (jitter < 0 || jitter > 1) {
+                throw new IllegalArgumentException("jitter must be between 0 and 1");
+            }
+            this.jitter = jitter;
+            return this;
+        }
+
+        public Builder maxElapsedMillis(long maxElapsedMillis) {
+            this.maxElapsedMillis = maxElapsedMillis;
+            return this;
+        }
+
+        public Builder listener(Listener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
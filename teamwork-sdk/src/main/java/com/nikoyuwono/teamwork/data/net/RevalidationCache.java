@@ -0,0 +1,78 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Remembers the validators (ETag / Last-Modified) of the last successful response of each GET together with
+ * the object parsed from it, so a 304 can be answered with that object without reading or parsing anything.
+ */
+final class RevalidationCache {
+
+    private static final String ETAG = "ETag";
+    private static final String LAST_MODIFIED = "Last-Modified";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+
+    static final class Entry {
+        private final String etag;
+        private final String lastModified;
+        final Object value;
+
+        Entry(String etag, String lastModified, Object value) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.value = value;
+        }
+
+        Request applyTo(final Request request) {
+            final Request.Builder builder = request.newBuilder();
+            if (etag != null) {
+                builder.header(IF_NONE_MATCH, etag);
+            }
+            if (lastModified != null) {
+                builder.header(IF_MODIFIED_SINCE, lastModified);
+            }
+            return builder.build();
+        }
+    }
+
+    private final Map<String, Entry> entries;
+
+    RevalidationCache(final int maxEntries) {
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RevalidationCache.Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    static boolean isConditional(final Request request) {
+        return request.header(IF_NONE_MATCH) != null || request.header(IF_MODIFIED_SINCE) != null;
+    }
+
+    synchronized Entry get(final String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Stores {@code value} if {@code response} can be revalidated, forgets the previous entry otherwise.
+     */
+    synchronized void put(final String key, final Response response, final Object value) {
+        final String etag = response.header(ETAG);
+        final String lastModified = response.header(LAST_MODIFIED);
+        if ((etag == null && lastModified == null) || value == null) {
+            entries.remove(key);
+        } else {
+            entries.put(key, new Entry(etag, lastModified, value));
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+}
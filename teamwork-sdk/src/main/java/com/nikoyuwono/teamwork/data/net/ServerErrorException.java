@@ -0,0 +1,18 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import android.support.annotation.Nullable;
+
+import okhttp3.HttpUrl;
+
+/**
+ * A 5xx response.
+ */
+public class ServerErrorException extends ApiException {
+
+    private static final long serialVersionUID = 1L;
+
+    ServerErrorException(String message, int code, @Nullable HttpUrl url, @Nullable String bodySnippet,
+            long retryAfterMillis) {
+        super(message, code, url, bodySnippet, retryAfterMillis);
+    }
+}
@@ -0,0 +1,45 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import rx.Observable;
+import rx.functions.Func0;
+
+/**
+ * Lets identical requests made while one is already in flight subscribe to that one instead of starting
+ * their own. Once it terminates, or every subscriber is gone, the next identical request starts anew.
+ */
+final class SingleFlight {
+
+    private final ConcurrentMap<String, Observable<?>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @return the in-flight observable for {@code key}, or the one created by {@code request} if there is none
+     */
+    @SuppressWarnings("unchecked")
+    <T> Observable<T> join(final String key, final Func0<Observable<T>> request) {
+        final Observable<?> current = inFlight.get(key);
+        if (current != null) {
+            return (Observable<T>) current;
+        }
+
+        final AtomicReference<Observable<T>> self = new AtomicReference<>();
+        // replay(1) hands the value to subscribers joining between the emission and the removal,
+        // refCount cancels the call once the last subscriber unsubscribes
+        final Observable<T> shared = request.call()
+                .doOnTerminate(() -> inFlight.remove(key, self.get()))
+                .doOnUnsubscribe(() -> inFlight.remove(key, self.get()))
+                .replay(1)
+                .refCount();
+        self.set(shared);
+
+        final Observable<?> existing = inFlight.putIfAbsent(key, shared);
+        return existing != null ? (Observable<T>) existing : shared;
+    }
+
+    int size() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,32 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+
+/**
+ * Waits on the calling thread for a call, swapped in tests for one that only advances a fake clock.
+ */
+interface Sleeper {
+
+    /**
+     * Waits in slices of at most {@link #SLICE_NANOS}, so a call canceled meanwhile frees its thread within one.
+     */
+    Sleeper THREAD = (nanos, call) -> {
+        final long deadlineNanos = System.nanoTime() + nanos;
+        for (long remainingNanos = nanos; remainingNanos > 0; remainingNanos = deadlineNanos - System.nanoTime()) {
+            if (call.isCanceled()) {
+                throw new IOException("Canceled");
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.min(remainingNanos, Sleeper.SLICE_NANOS));
+        }
+    };
+
+    long SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /**
+     * @throws IOException if {@code call} is canceled before the time is up
+     */
+    void sleep(long nanos, Call call) throws InterruptedException, IOException;
+}
@@ -0,0 +1,18 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import android.support.annotation.Nullable;
+
+import okhttp3.HttpUrl;
+
+/**
+ * A 401 response, or a request made before {@code AccountRequest.authenticate()}.
+ */
+public class UnauthorizedException extends ClientErrorException {
+
+    private static final long serialVersionUID = 1L;
+
+    UnauthorizedException(String message, int code, @Nullable HttpUrl url, @Nullable String bodySnippet,
+            long retryAfterMillis) {
+        super(message, code, url, bodySnippet, retryAfterMillis);
+    }
+}
@@ -0,0 +1,71 @@
+package com.nikoyuwono.teamwork.data.store;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AndroidDatabase implements Database {
+
+    private static final int VERSION = 1;
+
+    private final SQLiteOpenHelper openHelper;
+
+    public AndroidDatabase(final Context context, final String name) {
+        // The stores create their tables with CREATE TABLE IF NOT EXISTS when they're opened
+        this.openHelper = new SQLiteOpenHelper(context.getApplicationContext(), name, null, VERSION) {
+            @Override
+            public void onCreate(SQLiteDatabase db) {
+            }
+
+            @Override
+            public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+            }
+        };
+    }
+
+    @Override
+    public void execute(String sql, Object... bindArgs) {
+        openHelper.getWritableDatabase().execSQL(sql, bindArgs);
+    }
+
+    @Override
+    public <T> List<T> query(String sql, String[] selectionArgs, RowMapper<T> rowMapper) {
+        final Cursor cursor = openHelper.getReadableDatabase().rawQuery(sql, selectionArgs);
+        try {
+            final List<T> results = new ArrayList<>(cursor.getCount());
+            final Row row = new Row() {
+                @Override
+                public String getString(int column) {
+                    return cursor.getString(column);
+                }
+
+                @Override
+                public long getLong(int column) {
+                    return cursor.getLong(column);
+                }
+            };
+            while (cursor.moveToNext()) {
+                results.add(rowMapper.map(row));
+            }
+            return results;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    @Override
+    public void inTransaction(Runnable work) {
+        final SQLiteDatabase database = openHelper.getWritableDatabase();
+        database.beginTransaction();
+        try {
+            work.run();
+            database.setTransactionSuccessful();
+        } finally {
+            database.endTransaction();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.nikoyuwono.teamwork.data.store;
+
+import java.util.List;
+
+/**
+ * The few SQLite operations the stores need. {@link AndroidDatabase} runs them on the platform SQLite,
+ * which keeps the stores themselves free of Android classes and testable against any SQLite driver.
+ */
+public interface Database {
+
+    interface Row {
+        String getString(int column);
+        long getLong(int column);
+    }
+
+    interface RowMapper<T> {
+        T map(Row row);
+    }
+
+    void execute(String sql, Object... bindArgs);
+
+    <T> List<T> query(String sql, String[] selectionArgs, RowMapper<T> rowMapper);
+
+    /**
+     * Runs {@code work} in a transaction, committed if it returns normally and rolled back if it throws.
+     */
+    void inTransaction(Runnable work);
+}
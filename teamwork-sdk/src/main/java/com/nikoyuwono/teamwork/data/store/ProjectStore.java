@@ -0,0 +1,140 @@
+package com.nikoyuwono.teamwork.data.store;
+
+import android.support.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.nikoyuwono.teamwork.data.model.Project;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Local copy of the projects of the account. Each project is kept as the JSON written by its Gson adapter, next to
+ * the columns it is looked up by.
+ */
+public class ProjectStore {
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS projects (id TEXT PRIMARY KEY, company_id TEXT, name TEXT,"
+                    + " starred INTEGER NOT NULL, last_changed_on TEXT, json TEXT NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS projects_company_id ON projects (company_id)",
+            "CREATE TABLE IF NOT EXISTS sync_state (name TEXT PRIMARY KEY, value TEXT)"
+    };
+
+    private static final String SELECT_PROJECTS = "SELECT json FROM projects";
+
+    private final Database database;
+    private final TypeAdapter<Project> projectAdapter;
+    private volatile boolean schemaCreated = false;
+
+    public ProjectStore(final Database database, final Gson gson) {
+        this.database = database;
+        this.projectAdapter = gson.getAdapter(Project.class);
+    }
+
+    public void saveProjects(final List<Project> projects) {
+        db().inTransaction(() -> insertProjects(projects));
+    }
+
+    /**
+     * Replaces every stored project with {@code projects}, so the ones missing from it, e.g. deleted on the
+     * server, are removed.
+     */
+    public void replaceProjects(final List<Project> projects) {
+        db().inTransaction(() -> {
+            db().execute("DELETE FROM projects");
+            insertProjects(projects);
+        });
+    }
+
+    public List<Project> getProjects() {
+        return db().query(SELECT_PROJECTS + " ORDER BY name", null, this::readProject);
+    }
+
+    @Nullable
+    public Project getProject(final String projectId) {
+        return first(db().query(SELECT_PROJECTS + " WHERE id = ?", new String[]{projectId}, this::readProject));
+    }
+
+    public List<Project> getCompanyProjects(final String companyId) {
+        return db().query(SELECT_PROJECTS + " WHERE company_id = ? ORDER BY name",
+                new String[]{companyId}, this::readProject);
+    }
+
+    public List<Project> getStarredProjects() {
+        return db().query(SELECT_PROJECTS + " WHERE starred = 1 ORDER BY name", null, this::readProject);
+    }
+
+    public void deleteProject(final String projectId) {
+        db().execute("DELETE FROM projects WHERE id = ?", projectId);
+    }
+
+    /**
+     * Removes every record and the sync state, e.g. when the user signs out.
+     */
+    public void clear() {
+        db().inTransaction(() -> {
+            db().execute("DELETE FROM projects");
+            db().execute("DELETE FROM sync_state");
+        });
+    }
+
+    @Nullable
+    String getSyncState(final String name) {
+        return first(db().query("SELECT value FROM sync_state WHERE name = ?", new String[]{name},
+                row -> row.getString(0)));
+    }
+
+    void putSyncState(final String name, final String value) {
+        db().execute("INSERT OR REPLACE INTO sync_state (name, value) VALUES (?, ?)", name, value);
+    }
+
+    /**
+     * Creates the tables on first use, so that opening the store doesn't touch the disk.
+     */
+    private Database db() {
+        if (!schemaCreated) {
+            synchronized (this) {
+                if (!schemaCreated) {
+                    for (final String statement : SCHEMA) {
+                        database.execute(statement);
+                    }
+                    schemaCreated = true;
+                }
+            }
+        }
+        return database;
+    }
+
+    private void insertProjects(final List<Project> projects) {
+        for (final Project project : projects) {
+            final Project.Company company = project.getCompany();
+            db().execute("INSERT OR REPLACE INTO projects"
+                            + " (id, company_id, name, starred, last_changed_on, json) VALUES (?, ?, ?, ?, ?, ?)",
+                    project.getId(),
+                    company != null ? company.getId() : null,
+                    project.getName(),
+                    project.isStarred() ? 1 : 0,
+                    project.getLastChangedOn(),
+                    projectAdapter.toJson(project));
+        }
+    }
+
+    private Project readProject(final Database.Row row) {
+        return read(projectAdapter, row.getString(0));
+    }
+
+    private static <T> T read(final TypeAdapter<T> adapter, final String json) {
+        try {
+            return adapter.fromJson(json);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable record in the project store", e);
+        }
+    }
+
+    @Nullable
+    private static <T> T first(final List<T> results) {
+        return results.isEmpty() ? null : results.get(0);
+    }
+}
@@ -0,0 +1,126 @@
+package com.nikoyuwono.teamwork.data.store;
+
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+
+import com.nikoyuwono.teamwork.data.model.GetProjectParameter;
+import com.nikoyuwono.teamwork.data.model.Project;
+import com.nikoyuwono.teamwork.data.model.ProjectStatus;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Func1;
+
+/**
+ * Keeps a {@link ProjectStore} up to date with the server. The first sync fetches every project, the next ones
+ * only the projects changed since the newest {@code last-changed-on} seen so far, so the marker follows the
+ * server clock rather than the device one. A delta can't tell which projects were deleted on the server, only a
+ * {@link #resync()} removes them.
+ */
+public class ProjectSync {
+
+    @VisibleForTesting
+    static final String LAST_CHANGED_ON = "projects.lastChangedOn";
+
+    // e.g. 2014-03-18T11:20:49Z
+    private static final Pattern TIMESTAMP = Pattern.compile("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}.*");
+
+    private final ProjectStore projectStore;
+    private final Func1<GetProjectParameter, Observable<List<Project>>> fetchProjects;
+    private final Scheduler scheduler;
+
+    /**
+     * @param fetchProjects fetches the projects matching a parameter, e.g. {@code projectService::getAllProjects}
+     * @param scheduler where the store is read and written, e.g. {@code apiClient.networkScheduler()}
+     */
+    public ProjectSync(final ProjectStore projectStore,
+                       final Func1<GetProjectParameter, Observable<List<Project>>> fetchProjects,
+                       final Scheduler scheduler) {
+        this.projectStore = projectStore;
+        this.fetchProjects = fetchProjects;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Fetches the projects changed since the last sync, stores them and emits how many there were.
+     */
+    public Observable<Integer> sync() {
+        return Observable.defer(() -> {
+            final String lastChangedOn = projectStore.getSyncState(LAST_CHANGED_ON);
+            if (lastChangedOn == null) {
+                return fetchAll();
+            }
+            return fetchProjects.call(createParameter(lastChangedOn))
+                    .map(projects -> {
+                        projectStore.saveProjects(projects);
+                        saveMarker(projects, lastChangedOn);
+                        return projects.size();
+                    });
+        }).subscribeOn(scheduler);
+    }
+
+    /**
+     * Fetches every project and replaces the stored ones with them, removing the projects deleted on the server,
+     * then emits how many there are. Costs as much as the first sync, so it's meant to be run now and then.
+     */
+    public Observable<Integer> resync() {
+        return Observable.defer(this::fetchAll).subscribeOn(scheduler);
+    }
+
+    /**
+     * Emits the stored projects straight away, then once more after the sync if it changed any of them.
+     * A failed sync, e.g. while offline, is reported after the stored projects.
+     */
+    public Observable<List<Project>> getProjects() {
+        final Observable<List<Project>> storedProjects = Observable.fromCallable(projectStore::getProjects);
+        return storedProjects
+                .concatWith(sync()
+                        .filter(changed -> changed > 0)
+                        .flatMap(changed -> storedProjects))
+                .subscribeOn(scheduler);
+    }
+
+    @VisibleForTesting
+    static GetProjectParameter createParameter(@Nullable final String lastChangedOn) {
+        final GetProjectParameter.Builder builder = GetProjectParameter.newBuilder()
+                .projectStatus(ProjectStatus.ALL);
+        if (lastChangedOn != null) {
+            // The API takes the date as YYYYMMDD and the time as HH:MM
+            builder.updatedAfterDate(lastChangedOn.substring(0, 4)
+                    + lastChangedOn.substring(5, 7)
+                    + lastChangedOn.substring(8, 10))
+                    .updatedAfterTime(lastChangedOn.substring(11, 16));
+        }
+        return builder.build();
+    }
+
+    private Observable<Integer> fetchAll() {
+        return fetchProjects.call(createParameter(null))
+                .map(projects -> {
+                    projectStore.replaceProjects(projects);
+                    saveMarker(projects, null);
+                    return projects.size();
+                });
+    }
+
+    /**
+     * Moves the marker to the newest {@code last-changed-on} of the stored {@code projects}. The projects are
+     * stored first: if the marker can't be written, the next sync fetches the same changes again.
+     */
+    private void saveMarker(final List<Project> projects, @Nullable final String lastChangedOn) {
+        String newest = lastChangedOn;
+        for (final Project project : projects) {
+            final String changedOn = project.getLastChangedOn();
+            if (changedOn != null && TIMESTAMP.matcher(changedOn).matches()
+                    && (newest == null || changedOn.compareTo(newest) > 0)) {
+                newest = changedOn;
+            }
+        }
+        if (newest != null && !newest.equals(lastChangedOn)) {
+            projectStore.putSyncState(LAST_CHANGED_ON, newest);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.nikoyuwono.teamwork.service;
+
+import com.nikoyuwono.teamwork.data.model.ActionResult;
+import com.nikoyuwono.teamwork.data.model.BatchResult;
+
+import java.util.Collection;
+
+import rx.Observable;
+import rx.functions.Func1;
+
+/**
+ * Runs one request per item with at most {@code maxConcurrency} of them in flight, e.g. to star hundreds of
+ * projects without flooding the dispatcher. The requests still go through the rate limiter of the
+ * {@code ApiClient}, if it has one.
+ */
+public final class BatchExecutor {
+
+    private BatchExecutor() {
+        throw new AssertionError("This class shouldn't be initialized");
+    }
+
+    /**
+     * @return the result of every item, in the order they complete. A failed item is emitted as a
+     * {@link BatchResult} with its error rather than failing the whole batch.
+     */
+    public static <K> Observable<BatchResult<K>> execute(final Collection<K> items,
+                                                         final Func1<K, Observable<ActionResult>> request,
+                                                         final int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        return Observable.from(items)
+                .flatMap(item -> Observable.defer(() -> request.call(item))
+                        .map(result -> new BatchResult<>(item, result, null))
+                        .onErrorReturn(throwable -> new BatchResult<>(item, null, Util.toException(throwable))),
+                        maxConcurrency);
+    }
+}
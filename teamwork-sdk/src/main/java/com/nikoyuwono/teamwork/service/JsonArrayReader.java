@@ -0,0 +1,94 @@
+package com.nikoyuwono.teamwork.service;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import okhttp3.ResponseBody;
+
+/**
+ * Reads the elements of a named array inside a JSON envelope (e.g. {@code {"STATUS": "OK", "projects": [...]}})
+ * one at a time, straight from the response stream, without building a String or a JsonElement tree.
+ */
+public class JsonArrayReader<T> implements Closeable {
+
+    private final JsonReader jsonReader;
+    private final String arrayName;
+    private final TypeAdapter<T> typeAdapter;
+
+    private boolean positioned = false;
+    private boolean exhausted = false;
+
+    public JsonArrayReader(final Reader reader, final String arrayName, final TypeAdapter<T> typeAdapter) {
+        this.jsonReader = new JsonReader(reader);
+        this.arrayName = arrayName;
+        this.typeAdapter = typeAdapter;
+    }
+
+    public static <T> JsonArrayReader<T> of(final ResponseBody responseBody,
+                                            final String arrayName,
+                                            final TypeAdapter<T> typeAdapter) {
+        return new JsonArrayReader<>(responseBody.charStream(), arrayName, typeAdapter);
+    }
+
+    public boolean hasNext() throws IOException {
+        if (!positioned) {
+            seekToArray();
+            positioned = true;
+        }
+        if (exhausted) {
+            return false;
+        }
+        if (jsonReader.hasNext()) {
+            return true;
+        }
+        jsonReader.endArray();
+        exhausted = true;
+        return false;
+    }
+
+    public T next() throws IOException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more elements in \"" + arrayName + "\"");
+        }
+        return typeAdapter.read(jsonReader);
+    }
+
+    public List<T> readAll() throws IOException {
+        final List<T> elements = new ArrayList<>();
+        while (hasNext()) {
+            elements.add(typeAdapter.read(jsonReader));
+        }
+        return elements;
+    }
+
+    @Override
+    public void close() throws IOException {
+        jsonReader.close();
+    }
+
+    private void seekToArray() throws IOException {
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            if (!arrayName.equals(jsonReader.nextName())) {
+                jsonReader.skipValue();
+            } else if (jsonReader.peek() == JsonToken.NULL) {
+                jsonReader.nextNull();
+                exhausted = true;
+                return;
+            } else {
+                jsonReader.beginArray();
+                return;
+            }
+        }
+        // The envelope has no such array, treat it as an empty one
+        exhausted = true;
+    }
+}
@@ -0,0 +1,104 @@
+package com.nikoyuwono.teamwork.service;
+
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import rx.functions.Func0;
+
+/**
+ * In-memory cache of already deserialized responses. Entries expire {@code ttl} after being stored and the
+ * least recently used entry is evicted once there are more than {@code maxEntries}.
+ */
+public class MemoryCache {
+
+    private static final class Entry {
+        final Object value;
+        final long expiresAtNanos;
+
+        Entry(Object value, long expiresAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    private final long ttlNanos;
+    private final Func0<Long> nanoTicker;
+    private final Map<String, Entry> entries;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public MemoryCache(long ttl, TimeUnit timeUnit, int maxEntries) {
+        this(ttl, timeUnit, maxEntries, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    MemoryCache(long ttl, TimeUnit timeUnit, final int maxEntries, Func0<Long> nanoTicker) {
+        if (ttl <= 0 || maxEntries <= 0) {
+            throw new IllegalArgumentException("ttl and maxEntries must be positive");
+        }
+        this.ttlNanos = timeUnit.toNanos(ttl);
+        this.nanoTicker = nanoTicker;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MemoryCache.Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictionCount.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return the value stored for {@code key}, or null if there is none or it expired
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T get(String key) {
+        final Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAtNanos - nanoTicker.call() > 0) {
+            hitCount.incrementAndGet();
+            return (T) entry.value;
+        }
+        if (entry != null) {
+            entries.remove(key);
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    public synchronized void put(String key, Object value) {
+        if (value == null) {
+            return;
+        }
+        entries.put(key, new Entry(value, nanoTicker.call() + ttlNanos));
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+}
@@ -0,0 +1,69 @@
+package com.nikoyuwono.teamwork.service;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.nikoyuwono.teamwork.data.model.Account;
+import com.nikoyuwono.teamwork.data.model.Category;
+import com.nikoyuwono.teamwork.data.model.Comment;
+import com.nikoyuwono.teamwork.data.model.Company;
+import com.nikoyuwono.teamwork.data.model.Message;
+import com.nikoyuwono.teamwork.data.model.MessageReply;
+import com.nikoyuwono.teamwork.data.model.Milestone;
+import com.nikoyuwono.teamwork.data.model.ModelTypeAdapterFactory;
+import com.nikoyuwono.teamwork.data.model.Notebook;
+import com.nikoyuwono.teamwork.data.model.Permissions;
+import com.nikoyuwono.teamwork.data.model.Person;
+import com.nikoyuwono.teamwork.data.model.Post;
+import com.nikoyuwono.teamwork.data.model.Project;
+
+/**
+ * Process wide Gson used to bind the model classes. Gson caches the adapter of every type it has seen,
+ * so sharing one instance means the adapter lookup for a model class is done only once.
+ * The model adapters themselves are generated at compile time and registered through
+ * {@link ModelTypeAdapterFactory}, so no reflection is involved.
+ */
+public final class ModelTypeAdapters {
+
+    private static final Class<?>[] MODEL_CLASSES = {
+            Account.class,
+            Category.class,
+            Comment.class,
+            Company.class,
+            Message.class,
+            MessageReply.class,
+            Milestone.class,
+            Notebook.class,
+            Permissions.class,
+            Person.class,
+            Post.class,
+            Project.class
+    };
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
+            .create();
+
+    static {
+        for (final Class<?> modelClass : MODEL_CLASSES) {
+            GSON.getAdapter(modelClass);
+        }
+    }
+
+    private ModelTypeAdapters() {
+        throw new AssertionError("This class shouldn't be initialized");
+    }
+
+    public static Gson gson() {
+        return GSON;
+    }
+
+    public static <T> TypeAdapter<T> get(final Class<T> type) {
+        return GSON.getAdapter(type);
+    }
+
+    public static <T> TypeAdapter<T> get(final TypeToken<T> typeToken) {
+        return GSON.getAdapter(typeToken);
+    }
+}
@@ -1,11 +1,31 @@
 package com.nikoyuwono.teamwork.service;
 
+import android.support.annotation.Nullable;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.nikoyuwono.teamwork.data.model.ActionResult;
+import com.nikoyuwono.teamwork.data.model.Page;
+
+import java.io.Closeable;
+import java.io.EOFException;
 import java.io.IOException;
+import java.util.List;
 
 import okhttp3.Response;
+import rx.Observable;
+import rx.Subscriber;
+import rx.observables.SyncOnSubscribe;
 
 public class Util {
 
+    private static final String PAGE_HEADER = "X-Page";
+    private static final String PAGES_HEADER = "X-Pages";
+    private static final String RECORDS_HEADER = "X-Records";
+    private static final String STATUS_FIELD_NAME = "STATUS";
+    private static final String ID_FIELD_NAME = "id";
+
     public static String getContent(final Response response) {
         try {
             return response.body().string();
@@ -14,4 +34,148 @@ public class Util {
         }
     }
 
+    public static <T> List<T> readArray(final Response response,
+                                        final String arrayName,
+                                        final TypeAdapter<T> typeAdapter) throws IOException {
+        final JsonArrayReader<T> reader = JsonArrayReader.of(response.body(), arrayName, typeAdapter);
+        try {
+            return reader.readAll();
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Reads the {@code STATUS} and {@code id} of a response body, which may be empty, and closes the response.
+     */
+    public static ActionResult readResult(final Response response) throws IOException {
+        String status = null;
+        String id = response.header(ID_FIELD_NAME);
+        final JsonReader reader = new JsonReader(response.body().charStream());
+        try {
+            if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    final String name = reader.nextName();
+                    if (STATUS_FIELD_NAME.equals(name) && reader.peek() == JsonToken.STRING) {
+                        status = reader.nextString();
+                    } else if (ID_FIELD_NAME.equals(name) && reader.peek() != JsonToken.NULL) {
+                        id = reader.nextString();
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+            }
+        } catch (EOFException ignored) {
+            // Empty body, only the status code is known
+        } finally {
+            closeQuietly(reader);
+            response.close();
+        }
+        return new ActionResult(response.code(), status, id);
+    }
+
+    /**
+     * Reads the named array as one {@link Page}. When the pagination headers are missing the response is
+     * treated as the only page.
+     */
+    public static <T> Page<T> readPage(final Response response,
+                                       final String arrayName,
+                                       final TypeAdapter<T> typeAdapter) throws IOException {
+        final List<T> items = readArray(response, arrayName, typeAdapter);
+        final int page = getIntHeader(response, PAGE_HEADER, 1);
+        final int pageCount = getIntHeader(response, PAGES_HEADER, page);
+        final int recordCount = getIntHeader(response, RECORDS_HEADER, items.size());
+        return new Page<>(items, page, pageCount, recordCount);
+    }
+
+    /**
+     * Emits the elements of the named array as they are decoded, one per downstream request, so
+     * backpressure is honored and the first element is available before the body is fully read.
+     * Subscribe on a thread allowed to read the socket, see {@link com.nikoyuwono.teamwork.data.net.ApiClient#decodeStream}.
+     */
+    public static <T> Observable<T> streamArray(final Response response,
+                                                final String arrayName,
+                                                final TypeAdapter<T> typeAdapter) {
+        return Observable.create(SyncOnSubscribe.<JsonArrayReader<T>, T>createStateful(
+                () -> JsonArrayReader.of(response.body(), arrayName, typeAdapter),
+                (reader, observer) -> {
+                    try {
+                        if (reader.hasNext()) {
+                            observer.onNext(reader.next());
+                        } else {
+                            observer.onCompleted();
+                        }
+                    } catch (IOException e) {
+                        observer.onError(e);
+                    }
+                    return reader;
+                },
+                Util::closeQuietly));
+    }
+
+    private static int getIntHeader(final Response response, final String name, final int defaultValue) {
+        final String value = response.header(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Subscribes to {@code observable} and hands its value, or its error, to {@code callback} if there is one.
+     * An exception thrown by {@link RequestCallback#onGetContent} is a bug of the caller rather than a failed
+     * request: it goes to the uncaught exception handler of the thread instead of {@link RequestCallback#onError}.
+     */
+    public static <T> void deliver(final Observable<T> observable, @Nullable final RequestCallback<T> callback) {
+        observable.subscribe(new Subscriber<T>() {
+            @Override
+            public void onNext(T content) {
+                if (callback == null) {
+                    return;
+                }
+                try {
+                    callback.onGetContent(content);
+                } catch (Throwable throwable) {
+                    unsubscribe();
+                    final Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                if (callback != null) {
+                    callback.onError(toException(throwable));
+                }
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        });
+    }
+
+    static Exception toException(final Throwable throwable) {
+        // Read failures are wrapped in a RuntimeException to get through Rx operators
+        if (throwable instanceof RuntimeException && throwable.getCause() instanceof IOException) {
+            return (IOException) throwable.getCause();
+        }
+        return throwable instanceof Exception ? (Exception) throwable : new RuntimeException(throwable);
+    }
+
+    public static void closeQuietly(final Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+        }
+    }
+
 }
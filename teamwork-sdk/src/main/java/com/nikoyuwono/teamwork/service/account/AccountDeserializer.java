@@ -1,11 +1,11 @@
 package com.nikoyuwono.teamwork.service.account;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
 import com.nikoyuwono.teamwork.data.model.Account;
+import com.nikoyuwono.teamwork.service.ModelTypeAdapters;
 
 import java.lang.reflect.Type;
 
@@ -13,6 +13,9 @@ public class AccountDeserializer implements JsonDeserializer<Account> {
     @Override
     public Account deserialize(JsonElement je, Type type, JsonDeserializationContext jdc) throws JsonParseException {
         JsonElement content = je.getAsJsonObject().get("account");
-        return new Gson().fromJson(content, Account.class);
+        if (content == null) {
+            return null;
+        }
+        return ModelTypeAdapters.get(Account.class).fromJsonTree(content);
     }
-}
\ No newline at end of file
+}
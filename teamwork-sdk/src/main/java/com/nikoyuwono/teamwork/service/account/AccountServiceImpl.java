@@ -1,27 +1,22 @@
 package com.nikoyuwono.teamwork.service.account;
 
-import android.content.SharedPreferences;
 import android.support.annotation.Nullable;
 import android.support.annotation.VisibleForTesting;
 
 import com.google.gson.Gson;
-import com.nikoyuwono.teamwork.Teamwork;
 import com.nikoyuwono.teamwork.data.model.Account;
 import com.nikoyuwono.teamwork.data.net.ApiClient;
+import com.nikoyuwono.teamwork.data.net.HostResolver;
 import com.nikoyuwono.teamwork.service.RequestCallback;
 import com.nikoyuwono.teamwork.service.Util;
 
 import java.io.IOException;
 
-import okhttp3.Call;
-import okhttp3.Callback;
 import okhttp3.Credentials;
 import okhttp3.HttpUrl;
 import okhttp3.Response;
 import rx.Observable;
 
-import static com.nikoyuwono.teamwork.data.net.ApiClient.HOST_PREFERENCE_KEY;
-
 class AccountServiceImpl implements AccountService {
 
     @VisibleForTesting
@@ -39,37 +34,20 @@ class AccountServiceImpl implements AccountService {
 
     @Override
     public void getAccountDetails(@Nullable RequestCallback<Account> accountCallback) {
-        apiClient.withPath(GET_ACCOUNT_DETAILS_URL_PATH).get(new Callback() {
-            @Override
-            public void onFailure(Call call, IOException e) {
-                if (accountCallback != null) {
-                    accountCallback.onError(e);
-                }
-            }
-
-            @Override
-            public void onResponse(Call call, Response response) throws IOException {
-                final String content = response.body().string();
-                final Account account = gson.fromJson(content, Account.class);
-                if (accountCallback != null) {
-                    accountCallback.onGetContent(account);
-                }
-            }
-        });
+        Util.deliver(getAccountDetails(), accountCallback);
     }
 
     @Override
     public Observable<Account> getAccountDetails() {
         return apiClient.withPath(GET_ACCOUNT_DETAILS_URL_PATH)
                 .get()
-                .map(Util::getContent)
-                .map(content -> gson.fromJson(content, Account.class));
+                .compose(apiClient.decoding(this::readAccount, account -> 1));
     }
 
     @Override
     public void authenticate(String userName, String password, @Nullable RequestCallback<Account> accountCallback) {
         final String credentials = Credentials.basic(userName, password);
-        createAuthenticateCall(credentials, accountCallback);
+        Util.deliver(createAuthenticateCall(credentials), accountCallback);
     }
 
     @Override
@@ -81,7 +59,7 @@ class AccountServiceImpl implements AccountService {
     @Override
     public void authenticate(String apiKey, @Nullable RequestCallback<Account> accountCallback) {
         final String credentials = Credentials.basic(apiKey, "");
-        createAuthenticateCall(credentials, accountCallback);
+        Util.deliver(createAuthenticateCall(credentials), accountCallback);
     }
 
     @Override
@@ -90,50 +68,22 @@ class AccountServiceImpl implements AccountService {
         return createAuthenticateCall(credentials);
     }
 
-    private void createAuthenticateCall(final String credential, @Nullable final RequestCallback<Account> accountCallback) {
-        apiClient.withPath(AUTHENTICATE_URL_PATH)
-                .authorizationHeader(credential)
-                .get(new Callback() {
-            @Override
-            public void onFailure(Call call, IOException e) {
-                if (accountCallback != null) {
-                    accountCallback.onError(e);
-                }
-            }
-
-            @Override
-            public void onResponse(Call call, Response response) throws IOException {
-                final String content = response.body().string();
-                final Account account = gson.fromJson(content, Account.class);
-                saveAccountUrlHost(account);
-                if (accountCallback != null) {
-                    accountCallback.onGetContent(account);
-                }
-            }
-        });
-    }
-
     private Observable<Account> createAuthenticateCall(final String credential) {
         return apiClient.withPath(AUTHENTICATE_URL_PATH)
                 .authorizationHeader(credential)
                 .get()
-                .map(Util::getContent)
-                .map(content -> gson.fromJson(content, Account.class))
-                .map(account -> {
-                    saveAccountUrlHost(account);
-                    return account;
-                });
+                .compose(apiClient.decoding(this::readAccount, account -> 1))
+                .doOnNext(this::saveAccountUrlHost);
+    }
+
+    private Account readAccount(final Response response) throws IOException {
+        return gson.fromJson(response.body().string(), Account.class);
     }
 
     private void saveAccountUrlHost(final Account account) {
         final String url = account.getUrl();
         final HttpUrl httpUrl = HttpUrl.parse(url);
-        final SharedPreferences sharedPreferences = Teamwork.getSharedPreferences();
-        if (sharedPreferences != null) {
-            sharedPreferences.edit()
-                    .putString(HOST_PREFERENCE_KEY, httpUrl.host())
-                    .commit();
-        }
+        HostResolver.saveHost(httpUrl.host());
     }
 
 }
@@ -1,11 +1,11 @@
 package com.nikoyuwono.teamwork.service.project;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
 import com.nikoyuwono.teamwork.data.model.Project;
+import com.nikoyuwono.teamwork.service.ModelTypeAdapters;
 
 import java.lang.reflect.Type;
 
@@ -13,6 +13,9 @@ public class ProjectDeserializer implements JsonDeserializer<Project> {
     @Override
     public Project deserialize(JsonElement je, Type type, JsonDeserializationContext jdc) throws JsonParseException {
         JsonElement content = je.getAsJsonObject().get("project");
-        return new Gson().fromJson(content, Project.class);
+        if (content == null) {
+            return null;
+        }
+        return ModelTypeAdapters.get(Project.class).fromJsonTree(content);
     }
 }
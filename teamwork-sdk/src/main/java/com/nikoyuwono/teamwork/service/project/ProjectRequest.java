@@ -1,14 +1,25 @@
 package com.nikoyuwono.teamwork.service.project;
 
+import android.support.annotation.Nullable;
+
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
+import com.nikoyuwono.teamwork.data.model.BatchResult;
+import com.nikoyuwono.teamwork.data.model.GetProjectParameter;
+import com.nikoyuwono.teamwork.data.model.NewProject;
+import com.nikoyuwono.teamwork.data.model.Page;
 import com.nikoyuwono.teamwork.data.model.Project;
 import com.nikoyuwono.teamwork.data.net.ApiClient;
+import com.nikoyuwono.teamwork.data.store.ProjectStore;
+import com.nikoyuwono.teamwork.data.store.ProjectSync;
 import com.nikoyuwono.teamwork.service.BaseRequest;
+import com.nikoyuwono.teamwork.service.MemoryCache;
 import com.nikoyuwono.teamwork.service.RequestCallback;
 
 import java.lang.reflect.Modifier;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import rx.Observable;
 
@@ -18,8 +29,36 @@ public final class ProjectRequest extends BaseRequest<ProjectService> {
         private static final ProjectRequest INSTANCE = new ProjectRequest();
     }
 
+    private static final int DEFAULT_BATCH_CONCURRENCY = 4;
+
+    private ApiClient apiClient;
+    private ProjectService syncService;
+    private volatile MemoryCache memoryCache;
+
     public void init(final ApiClient apiClient) {
-        this.service = new ProjectServiceImpl(apiClient, gson);
+        this.apiClient = apiClient;
+        this.service = new ProjectServiceImpl(apiClient, gson, memoryCache);
+        // A sync must see what the server has now, never what the memory cache kept
+        this.syncService = new ProjectServiceImpl(apiClient, gson);
+    }
+
+    /**
+     * @return the cache of deserialized projects and project lists, to read its hit and miss counts, null if
+     * there is none
+     */
+    @Nullable
+    public MemoryCache getMemoryCache() {
+        return memoryCache;
+    }
+
+    /**
+     * Caches the deserialized projects and project lists, none by default. A cached value is served without asking
+     * the server until it expires, so changes made elsewhere, e.g. on the web, only show up after the TTL;
+     * {@link MemoryCache#invalidateAll()} forces the next requests to the server. Null disables the cache.
+     * Takes effect from the next {@code Teamwork.projectRequest()}.
+     */
+    public void setMemoryCache(@Nullable MemoryCache memoryCache) {
+        this.memoryCache = memoryCache;
     }
 
     private ProjectRequest() {
@@ -45,4 +84,71 @@ public final class ProjectRequest extends BaseRequest<ProjectService> {
     public Observable<List<Project>> newGetAllProjectsRequest() {
         return service.getAllProjects();
     }
+
+    public Observable<Project> newStreamAllProjectsRequest() {
+        return service.streamAllProjects();
+    }
+
+    /**
+     * Emits the projects in lists of at most {@code chunkSize} elements as soon as each chunk is decoded.
+     */
+    public Observable<List<Project>> newStreamAllProjectsRequest(int chunkSize) {
+        return service.streamAllProjects().buffer(chunkSize);
+    }
+
+    /**
+     * Emits every project page of {@code pageSize} projects, fetching the next page while the current one is consumed.
+     */
+    public Observable<Page<Project>> newGetAllProjectPagesRequest(int pageSize) {
+        return service.getAllProjectPages(GetProjectParameter.newBuilder()
+                .pageSize(pageSize)
+                .build());
+    }
+
+    /**
+     * Emits the projects kept in {@code projectStore} straight away, then again once the changes made on the
+     * server since the last sync are stored, if there were any.
+     */
+    public Observable<List<Project>> newGetAllProjectsOfflineFirstRequest(ProjectStore projectStore) {
+        return createProjectSync(projectStore).getProjects();
+    }
+
+    /**
+     * Stores the projects changed on the server since the last sync and emits how many there were.
+     */
+    public Observable<Integer> newSyncProjectsRequest(ProjectStore projectStore) {
+        return createProjectSync(projectStore).sync();
+    }
+
+    /**
+     * Replaces the stored projects with every project on the server, removing the deleted ones, and emits how
+     * many there are.
+     */
+    public Observable<Integer> newResyncProjectsRequest(ProjectStore projectStore) {
+        return createProjectSync(projectStore).resync();
+    }
+
+    /**
+     * Updates every project of {@code newProjects}, keyed by project id, 4 at a time, emitting the result of each.
+     */
+    public Observable<BatchResult<String>> newUpdateProjectsRequest(Map<String, NewProject> newProjects) {
+        return service.updateProjects(newProjects, DEFAULT_BATCH_CONCURRENCY);
+    }
+
+    public Observable<BatchResult<String>> newDeleteProjectsRequest(Collection<String> projectIds) {
+        return service.deleteProjects(projectIds, DEFAULT_BATCH_CONCURRENCY);
+    }
+
+    public Observable<BatchResult<String>> newStarProjectsRequest(Collection<String> projectIds) {
+        return service.starProjects(projectIds, DEFAULT_BATCH_CONCURRENCY);
+    }
+
+    public Observable<BatchResult<String>> newUnstarProjectsRequest(Collection<String> projectIds) {
+        return service.unstarProjects(projectIds, DEFAULT_BATCH_CONCURRENCY);
+    }
+
+    private ProjectSync createProjectSync(ProjectStore projectStore) {
+        // The store is read and written with the bounded I/O threads of the SDK
+        return new ProjectSync(projectStore, syncService::getAllProjects, apiClient.networkScheduler());
+    }
 }
@@ -3,26 +3,30 @@ package com.nikoyuwono.teamwork.service.project;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
+import com.nikoyuwono.teamwork.data.model.ActionResult;
+import com.nikoyuwono.teamwork.data.model.BatchResult;
 import com.nikoyuwono.teamwork.data.model.GetProjectParameter;
 import com.nikoyuwono.teamwork.data.model.NewProject;
+import com.nikoyuwono.teamwork.data.model.Page;
 import com.nikoyuwono.teamwork.data.model.Project;
 import com.nikoyuwono.teamwork.service.RequestCallback;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
-import okhttp3.Response;
 import rx.Observable;
 
 public interface ProjectService {
 
-    void createProject(@NonNull NewProject newProject, @Nullable RequestCallback<Response> callback);
-    Observable<Response> createProject(@NonNull NewProject newProject);
+    void createProject(@NonNull NewProject newProject, @Nullable RequestCallback<ActionResult> callback);
+    Observable<ActionResult> createProject(@NonNull NewProject newProject);
 
-    void updateProject(@NonNull String projectId, @NonNull NewProject newProject, @Nullable RequestCallback<Response> callback);
-    Observable<Response> updateProject(@NonNull String projectId, @NonNull NewProject newProject);
+    void updateProject(@NonNull String projectId, @NonNull NewProject newProject, @Nullable RequestCallback<ActionResult> callback);
+    Observable<ActionResult> updateProject(@NonNull String projectId, @NonNull NewProject newProject);
 
-    void deleteProject(@NonNull String projectId, @Nullable RequestCallback<Response> callback);
-    Observable<Response> deleteProject(@NonNull String projectId);
+    void deleteProject(@NonNull String projectId, @Nullable RequestCallback<ActionResult> callback);
+    Observable<ActionResult> deleteProject(@NonNull String projectId);
 
     void getAllProjects(@Nullable RequestCallback<List<Project>> callback);
     Observable<List<Project>> getAllProjects();
@@ -30,6 +34,18 @@ public interface ProjectService {
     void getAllProjects(@Nullable GetProjectParameter getProjectParameter, @Nullable RequestCallback<List<Project>> callback);
     Observable<List<Project>> getAllProjects(@Nullable GetProjectParameter getProjectParameter);
 
+    Observable<Project> streamAllProjects();
+    Observable<Project> streamAllProjects(@Nullable GetProjectParameter getProjectParameter);
+
+    void getProjectsPage(@Nullable GetProjectParameter getProjectParameter, @Nullable RequestCallback<Page<Project>> callback);
+    Observable<Page<Project>> getProjectsPage(@Nullable GetProjectParameter getProjectParameter);
+
+    /**
+     * Emits every page from the requested one (or the first) to the last. The next page is fetched and
+     * decoded while the current one is being consumed.
+     */
+    Observable<Page<Project>> getAllProjectPages(@Nullable GetProjectParameter getProjectParameter);
+
     void getProject(@NonNull String projectId, @Nullable RequestCallback<Project> callback);
     Observable<Project> getProject(@NonNull String projectId);
 
@@ -38,14 +54,25 @@ public interface ProjectService {
 
     void getCompanyProjects(@NonNull String companyId, @Nullable RequestCallback<List<Project>> callback);
     Observable<List<Project>> getCompanyProjects(@NonNull String companyId);
+    Observable<Project> streamCompanyProjects(@NonNull String companyId);
 
     void getStarredProjects(@Nullable RequestCallback<List<Project>> callback);
     Observable<List<Project>> getStarredProjects();
-
-    void starProject(@NonNull String projectId, @Nullable RequestCallback<Response> callback);
-    Observable<Response> starProject(@NonNull String projectId);
-
-    void unstarProject(@NonNull String projectId, @Nullable RequestCallback<Response> callback);
-    Observable<Response> unstarProject(@NonNull String projectId);
+    Observable<Project> streamStarredProjects();
+
+    void starProject(@NonNull String projectId, @Nullable RequestCallback<ActionResult> callback);
+    Observable<ActionResult> starProject(@NonNull String projectId);
+
+    void unstarProject(@NonNull String projectId, @Nullable RequestCallback<ActionResult> callback);
+    Observable<ActionResult> unstarProject(@NonNull String projectId);
+
+    /**
+     * Batch variants of the project actions. At most {@code maxConcurrency} requests are in flight at once and
+     * the result of each project, success or failure, is emitted as soon as its request completes.
+     */
+    Observable<BatchResult<String>> updateProjects(@NonNull Map<String, NewProject> newProjects, int maxConcurrency);
+    Observable<BatchResult<String>> deleteProjects(@NonNull Collection<String> projectIds, int maxConcurrency);
+    Observable<BatchResult<String>> starProjects(@NonNull Collection<String> projectIds, int maxConcurrency);
+    Observable<BatchResult<String>> unstarProjects(@NonNull Collection<String> projectIds, int maxConcurrency);
 
 }
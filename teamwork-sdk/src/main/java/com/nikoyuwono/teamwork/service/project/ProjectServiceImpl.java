@@ -6,23 +6,30 @@ import android.support.annotation.VisibleForTesting;
 import android.text.TextUtils;
 
 import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.TypeAdapter;
+import com.nikoyuwono.teamwork.data.model.ActionResult;
+import com.nikoyuwono.teamwork.data.model.BatchResult;
 import com.nikoyuwono.teamwork.data.model.GetProjectParameter;
 import com.nikoyuwono.teamwork.data.model.NewProject;
+import com.nikoyuwono.teamwork.data.model.Page;
 import com.nikoyuwono.teamwork.data.model.Project;
 import com.nikoyuwono.teamwork.data.model.ProjectStatus;
 import com.nikoyuwono.teamwork.data.net.ApiClient;
+import com.nikoyuwono.teamwork.service.BatchExecutor;
+import com.nikoyuwono.teamwork.service.MemoryCache;
+import com.nikoyuwono.teamwork.service.ModelTypeAdapters;
 import com.nikoyuwono.teamwork.service.RequestCallback;
 import com.nikoyuwono.teamwork.service.Util;
 
 import java.io.IOException;
-import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
-import okhttp3.Call;
-import okhttp3.Callback;
 import okhttp3.Response;
 import rx.Observable;
+import rx.functions.Func1;
 
 class ProjectServiceImpl implements ProjectService {
 
@@ -33,156 +40,124 @@ class ProjectServiceImpl implements ProjectService {
     static final String STAR_A_PROJECT_URL_PATH = "/projects/%s/star.json";
     static final String UNSTAR_A_PROJECT_URL_PATH = "/projects/%s/unstar.json";
 
-    private static final Type PROJECT_LIST_TYPE = new TypeToken<List<Project>>() {}.getType();
+    private static final String PROJECTS_FIELD_NAME = "projects";
+    private static final TypeAdapter<Project> PROJECT_ADAPTER = ModelTypeAdapters.get(Project.class);
+    // Pages fetched and decoded ahead of the consumer
+    private static final int PAGES_IN_FLIGHT = 2;
 
     private final ApiClient apiClient;
     private final Gson gson;
+    @Nullable
+    private final MemoryCache memoryCache;
 
     ProjectServiceImpl(ApiClient apiClient, Gson gson) {
+        this(apiClient, gson, null);
+    }
+
+    ProjectServiceImpl(ApiClient apiClient, Gson gson, @Nullable MemoryCache memoryCache) {
         this.apiClient = apiClient;
         this.gson = gson;
+        this.memoryCache = memoryCache;
     }
 
     @Override
-    public void createProject(@NonNull NewProject newProject, @Nullable RequestCallback<Response> callback) {
-        apiClient.withPath(PROJECTS_URL_PATH)
-                .jsonBody(gson.toJson(newProject))
-                .post(new Callback() {
-                    @Override
-                    public void onFailure(Call call, IOException e) {
-                        if (callback != null) {
-                            callback.onError(e);
-                        }
-                    }
-
-                    @Override
-                    public void onResponse(Call call, Response response) throws IOException {
-                        if (callback != null) {
-                            callback.onGetContent(response);
-                        }
-                    }
-                });
+    public void createProject(@NonNull NewProject newProject, @Nullable RequestCallback<ActionResult> callback) {
+        Util.deliver(createProject(newProject), callback);
     }
 
     @Override
-    public Observable<Response> createProject(@NonNull NewProject newProject) {
+    public Observable<ActionResult> createProject(@NonNull NewProject newProject) {
         return apiClient.withPath(PROJECTS_URL_PATH)
                 .jsonBody(gson.toJson(newProject))
-                .post();
+                .post()
+                .compose(this::decodeResult);
     }
 
     @Override
-    public void updateProject(@NonNull String projectId, @NonNull NewProject newProject, @Nullable RequestCallback<Response> callback) {
-        apiClient.withPath(projectsUrlPath(projectId))
-                .jsonBody(gson.toJson(newProject))
-                .put(new Callback() {
-                    @Override
-                    public void onFailure(Call call, IOException e) {
-                        if (callback != null) {
-                            callback.onError(e);
-                        }
-                    }
-
-                    @Override
-                    public void onResponse(Call call, Response response) throws IOException {
-                        if (callback != null) {
-                            callback.onGetContent(response);
-                        }
-                    }
-                });
+    public void updateProject(@NonNull String projectId, @NonNull NewProject newProject, @Nullable RequestCallback<ActionResult> callback) {
+        Util.deliver(updateProject(projectId, newProject), callback);
     }
 
     @Override
-    public Observable<Response> updateProject(@NonNull String projectId, @NonNull NewProject newProject) {
+    public Observable<ActionResult> updateProject(@NonNull String projectId, @NonNull NewProject newProject) {
         return apiClient.withPath(projectsUrlPath(projectId))
                 .jsonBody(gson.toJson(newProject))
-                .put();
+                .put()
+                .compose(this::decodeResult);
     }
 
     @Override
-    public void deleteProject(@NonNull String projectId, @Nullable RequestCallback<Response> callback) {
-        apiClient.withPath(projectsUrlPath(projectId))
-                .delete(new Callback() {
-                    @Override
-                    public void onFailure(Call call, IOException e) {
-                        if (callback != null) {
-                            callback.onError(e);
-                        }
-                    }
-
-                    @Override
-                    public void onResponse(Call call, Response response) throws IOException {
-                        if (callback != null) {
-                            callback.onGetContent(response);
-                        }
-                    }
-                });
+    public void deleteProject(@NonNull String projectId, @Nullable RequestCallback<ActionResult> callback) {
+        Util.deliver(deleteProject(projectId), callback);
     }
 
     @Override
-    public Observable<Response> deleteProject(@NonNull String projectId) {
+    public Observable<ActionResult> deleteProject(@NonNull String projectId) {
         return apiClient.withPath(projectsUrlPath(projectId))
-                .delete();
+                .delete()
+                .compose(this::decodeResult);
     }
 
     @Override
     public void getAllProjects(@Nullable RequestCallback<List<Project>> callback) {
-        apiClient.withPath(PROJECTS_URL_PATH)
-                .get(new Callback() {
-                    @Override
-                    public void onFailure(Call call, IOException e) {
-                        if (callback != null) {
-                            callback.onError(e);
-                        }
-                    }
-
-                    @Override
-                    public void onResponse(Call call, Response response) throws IOException {
-                        if (callback != null) {
-                            final String content = response.body().string();
-                            final List<Project> projects = gson.fromJson(content, PROJECT_LIST_TYPE);
-                            callback.onGetContent(projects);
-                        }
-                    }
-                });
+        Util.deliver(getAllProjects(), callback);
     }
 
     @Override
     public Observable<List<Project>> getAllProjects() {
-        return apiClient.withPath(PROJECTS_URL_PATH)
-                .get()
-                .map(Util::getContent)
-                .<List<Project>>map(content -> gson.fromJson(content, PROJECT_LIST_TYPE));
+        return getCached(apiClient.withPath(PROJECTS_URL_PATH), List.class, this::readProjects, List::size);
     }
 
     @Override
     public void getAllProjects(@Nullable GetProjectParameter getProjectParameter, @Nullable RequestCallback<List<Project>> callback) {
-        createGetAllProjectsExecutor(getProjectParameter)
-                .get(new Callback() {
-                    @Override
-                    public void onFailure(Call call, IOException e) {
-                        if (callback != null) {
-                            callback.onError(e);
-                        }
-                    }
-
-                    @Override
-                    public void onResponse(Call call, Response response) throws IOException {
-                        if (callback != null) {
-                            final String content = response.body().string();
-                            final List<Project> projects = gson.fromJson(content, PROJECT_LIST_TYPE);
-                            callback.onGetContent(projects);
-                        }
-                    }
-                });
+        Util.deliver(getAllProjects(getProjectParameter), callback);
     }
 
     @Override
     public Observable<List<Project>> getAllProjects(@Nullable GetProjectParameter getProjectParameter) {
+        return getCached(createGetAllProjectsExecutor(getProjectParameter), List.class, this::readProjects, List::size);
+    }
+
+    @Override
+    public Observable<Project> streamAllProjects() {
+        return apiClient.withPath(PROJECTS_URL_PATH)
+                .get()
+                .concatMap(this::streamProjects);
+    }
+
+    @Override
+    public Observable<Project> streamAllProjects(@Nullable GetProjectParameter getProjectParameter) {
         return createGetAllProjectsExecutor(getProjectParameter)
                 .get()
-                .map(Util::getContent)
-                .<List<Project>>map(content -> gson.fromJson(content, PROJECT_LIST_TYPE));
+                .concatMap(this::streamProjects);
+    }
+
+    @Override
+    public void getProjectsPage(@Nullable GetProjectParameter getProjectParameter, @Nullable RequestCallback<Page<Project>> callback) {
+        Util.deliver(getProjectsPage(getProjectParameter), callback);
+    }
+
+    @Override
+    public Observable<Page<Project>> getProjectsPage(@Nullable GetProjectParameter getProjectParameter) {
+        return createGetAllProjectsExecutor(getProjectParameter)
+                .getConditional(Page.class, this::readProjectsPage, projectsPage -> projectsPage.getItems().size());
+    }
+
+    @Override
+    public Observable<Page<Project>> getAllProjectPages(@Nullable GetProjectParameter getProjectParameter) {
+        return getProjectsPage(getProjectParameter)
+                .concatMap(firstPage -> {
+                    if (!firstPage.hasNextPage()) {
+                        return Observable.just(firstPage);
+                    }
+                    // concatMapEager keeps the emission order while subscribing to the next page before the
+                    // current one has been consumed, each page request is enqueued and decoded on the parse scheduler
+                    final int firstPageNumber = firstPage.getPage();
+                    return Observable.range(firstPageNumber, firstPage.getPageCount() - firstPageNumber + 1)
+                            .concatMapEager(page -> page == firstPageNumber
+                                    ? Observable.just(firstPage)
+                                    : getProjectsPage(getProjectParameter, page), PAGES_IN_FLIGHT, PAGES_IN_FLIGHT);
+                });
     }
 
     @Override
@@ -197,144 +172,154 @@ class ProjectServiceImpl implements ProjectService {
 
     @Override
     public void getProject(@NonNull String projectId, boolean includePeople, @Nullable RequestCallback<Project> callback) {
-        apiClient.withPath(projectsUrlPath(projectId))
-                .param("includePeople", includePeople)
-                .get(new Callback() {
-                    @Override
-                    public void onFailure(Call call, IOException e) {
-                        if (callback != null) {
-                            callback.onError(e);
-                        }
-                    }
-
-                    @Override
-                    public void onResponse(Call call, Response response) throws IOException {
-                        if (callback != null) {
-                            final String content = response.body().string();
-                            final Project projects = gson.fromJson(content, Project.class);
-                            callback.onGetContent(projects);
-                        }
-                    }
-                });
+        Util.deliver(getProject(projectId, includePeople), callback);
     }
 
     @Override
     public Observable<Project> getProject(@NonNull String projectId, boolean includePeople) {
-        return apiClient.withPath(projectsUrlPath(projectId))
-                .param("includePeople", includePeople)
-                .get()
-                .map(Util::getContent)
-                .map(content -> gson.fromJson(content, Project.class));
+        final ApiClient.Executor executor = apiClient.withPath(projectsUrlPath(projectId))
+                .param("includePeople", includePeople);
+        return getCached(executor, Project.class, this::readProject, project -> 1);
     }
 
     @Override
     public void getCompanyProjects(@NonNull String companyId, @Nullable RequestCallback<List<Project>> callback) {
-        apiClient.withPath(String.format(COMPANY_PROJECTS_URL_PATH, companyId))
-                .get(new Callback() {
-                    @Override
-                    public void onFailure(Call call, IOException e) {
-                        if (callback != null) {
-                            callback.onError(e);
-                        }
-                    }
-
-                    @Override
-                    public void onResponse(Call call, Response response) throws IOException {
-                        if (callback != null) {
-                            final String content = response.body().string();
-                            final List<Project> projects = gson.fromJson(content, PROJECT_LIST_TYPE);
-                            callback.onGetContent(projects);
-                        }
-                    }
-                });
+        Util.deliver(getCompanyProjects(companyId), callback);
     }
 
     @Override
     public Observable<List<Project>> getCompanyProjects(@NonNull String companyId) {
+        final ApiClient.Executor executor = apiClient.withPath(String.format(COMPANY_PROJECTS_URL_PATH, companyId));
+        return getCached(executor, List.class, this::readProjects, List::size);
+    }
+
+    @Override
+    public Observable<Project> streamCompanyProjects(@NonNull String companyId) {
         return apiClient.withPath(String.format(COMPANY_PROJECTS_URL_PATH, companyId))
                 .get()
-                .map(Util::getContent)
-                .<List<Project>>map(content -> gson.fromJson(content, PROJECT_LIST_TYPE));
+                .concatMap(this::streamProjects);
     }
 
     @Override
     public void getStarredProjects(@Nullable RequestCallback<List<Project>> callback) {
-        apiClient.withPath(STARRED_PROJECTS_URL_PATH)
-                .get(new Callback() {
-                    @Override
-                    public void onFailure(Call call, IOException e) {
-                        if (callback != null) {
-                            callback.onError(e);
-                        }
-                    }
-
-                    @Override
-                    public void onResponse(Call call, Response response) throws IOException {
-                        if (callback != null) {
-                            final String content = response.body().string();
-                            final List<Project> projects = gson.fromJson(content, PROJECT_LIST_TYPE);
-                            callback.onGetContent(projects);
-                        }
-                    }
-                });
+        Util.deliver(getStarredProjects(), callback);
     }
 
     @Override
     public Observable<List<Project>> getStarredProjects() {
+        return getCached(apiClient.withPath(STARRED_PROJECTS_URL_PATH), List.class, this::readProjects, List::size);
+    }
+
+    @Override
+    public Observable<Project> streamStarredProjects() {
         return apiClient.withPath(STARRED_PROJECTS_URL_PATH)
                 .get()
-                .map(Util::getContent)
-                .<List<Project>>map(content -> gson.fromJson(content, PROJECT_LIST_TYPE));
+                .concatMap(this::streamProjects);
     }
 
     @Override
-    public void starProject(@NonNull String projectId, @Nullable RequestCallback<Response> callback) {
-        apiClient.withPath(String.format(STAR_A_PROJECT_URL_PATH, projectId))
-                .put(new Callback() {
-                    @Override
-                    public void onFailure(Call call, IOException e) {
-                        if (callback != null) {
-                            callback.onError(e);
-                        }
-                    }
+    public void starProject(@NonNull String projectId, @Nullable RequestCallback<ActionResult> callback) {
+        Util.deliver(starProject(projectId), callback);
+    }
 
-                    @Override
-                    public void onResponse(Call call, Response response) throws IOException {
-                        if (callback != null) {
-                            callback.onGetContent(response);
-                        }
-                    }
-                });
+    @Override
+    public Observable<ActionResult> starProject(@NonNull String projectId) {
+        return apiClient.withPath(String.format(STAR_A_PROJECT_URL_PATH, projectId))
+                .put()
+                .compose(this::decodeResult);
     }
 
     @Override
-    public Observable<Response> starProject(@NonNull String projectId) {
-        return apiClient.withPath(String.format(STAR_A_PROJECT_URL_PATH, projectId)).put();
+    public void unstarProject(@NonNull String projectId, @Nullable RequestCallback<ActionResult> callback) {
+        Util.deliver(unstarProject(projectId), callback);
     }
 
     @Override
-    public void unstarProject(@NonNull String projectId, @Nullable RequestCallback<Response> callback) {
-        apiClient.withPath(String.format(UNSTAR_A_PROJECT_URL_PATH, projectId))
-                .put(new Callback() {
-                    @Override
-                    public void onFailure(Call call, IOException e) {
-                        if (callback != null) {
-                            callback.onError(e);
-                        }
-                    }
+    public Observable<ActionResult> unstarProject(@NonNull String projectId) {
+        return apiClient.withPath(String.format(UNSTAR_A_PROJECT_URL_PATH, projectId))
+                .put()
+                .compose(this::decodeResult);
+    }
+
+    @Override
+    public Observable<BatchResult<String>> updateProjects(@NonNull Map<String, NewProject> newProjects, int maxConcurrency) {
+        return BatchExecutor.execute(newProjects.keySet(),
+                projectId -> updateProject(projectId, newProjects.get(projectId)), maxConcurrency);
+    }
 
-                    @Override
-                    public void onResponse(Call call, Response response) throws IOException {
-                        if (callback != null) {
-                            callback.onGetContent(response);
-                        }
+    @Override
+    public Observable<BatchResult<String>> deleteProjects(@NonNull Collection<String> projectIds, int maxConcurrency) {
+        return BatchExecutor.execute(projectIds, this::deleteProject, maxConcurrency);
+    }
+
+    @Override
+    public Observable<BatchResult<String>> starProjects(@NonNull Collection<String> projectIds, int maxConcurrency) {
+        return BatchExecutor.execute(projectIds, this::starProject, maxConcurrency);
+    }
+
+    @Override
+    public Observable<BatchResult<String>> unstarProjects(@NonNull Collection<String> projectIds, int maxConcurrency) {
+        return BatchExecutor.execute(projectIds, this::unstarProject, maxConcurrency);
+    }
+
+    /**
+     * Serves the value from the memory cache while it is fresh, otherwise revalidates or fetches it, decodes it on
+     * the parse scheduler and caches it.
+     */
+    private <T> Observable<T> getCached(final ApiClient.Executor executor,
+                                        final Class<?> resultType,
+                                        final ApiClient.Decoder<T> decoder,
+                                        final Func1<? super T, Integer> objectCount) {
+        if (memoryCache == null) {
+            return executor.getConditional(resultType, decoder, objectCount);
+        }
+        return Observable.defer(() -> {
+            // Keyed by credential too, so another account never gets the values cached for the previous one
+            final String cacheKey = executor.getRequestKey(resultType);
+            final T cached = memoryCache.get(cacheKey);
+            if (cached != null) {
+                return Observable.just(cached);
+            }
+            return executor.getConditional(resultType, decoder, objectCount)
+                    .doOnNext(value -> memoryCache.put(cacheKey, value));
+        });
+    }
+
+    /**
+     * Decodes the result of a change on the parse scheduler and drops the cached values it may have made stale.
+     */
+    private Observable<ActionResult> decodeResult(final Observable<Response> responses) {
+        return responses
+                .compose(apiClient.decoding(Util::readResult, result -> 1))
+                .doOnNext(result -> {
+                    // Any change to a project can show up in every cached list
+                    if (memoryCache != null && result.isSuccessful()) {
+                        memoryCache.invalidateAll();
                     }
                 });
     }
 
-    @Override
-    public Observable<Response> unstarProject(@NonNull String projectId) {
-        return apiClient.withPath(String.format(UNSTAR_A_PROJECT_URL_PATH, projectId)).put();
+    private Project readProject(final Response response) {
+        return gson.fromJson(Util.getContent(response), Project.class);
+    }
+
+    private List<Project> readProjects(final Response response) throws IOException {
+        // The list is cached and handed to every caller asking for it, none of them may change it
+        return Collections.unmodifiableList(Util.readArray(response, PROJECTS_FIELD_NAME, PROJECT_ADAPTER));
+    }
+
+    private Observable<Page<Project>> getProjectsPage(@Nullable GetProjectParameter getProjectParameter, int page) {
+        return createGetAllProjectsExecutor(getProjectParameter)
+                .param("page", page)
+                .getConditional(Page.class, this::readProjectsPage, projectsPage -> projectsPage.getItems().size());
+    }
+
+    private Page<Project> readProjectsPage(final Response response) throws IOException {
+        return Util.readPage(response, PROJECTS_FIELD_NAME, PROJECT_ADAPTER);
+    }
+
+    private Observable<Project> streamProjects(final Response response) {
+        return apiClient.decodeStream(response, body -> Util.streamArray(body, PROJECTS_FIELD_NAME, PROJECT_ADAPTER));
     }
 
     private String projectsUrlPath(@NonNull String projectId) {
@@ -387,6 +372,16 @@ class ProjectServiceImpl implements ProjectService {
         final boolean includePeople = getProjectParameter.isIncludePeople();
         executor.param("includePeople", includePeople);
 
+        final int page = getProjectParameter.getPage();
+        if (page > 0) {
+            executor.param("page", page);
+        }
+
+        final int pageSize = getProjectParameter.getPageSize();
+        if (pageSize > 0) {
+            executor.param("pageSize", pageSize);
+        }
+
         return executor;
     }
 }
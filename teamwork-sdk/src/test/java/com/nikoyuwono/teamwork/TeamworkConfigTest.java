@@ -0,0 +1,78 @@
+package com.nikoyuwono.teamwork;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TeamworkConfigTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void createOkHttpClient_ShouldApplyConfig() throws Exception {
+        final File cacheDir = temporaryFolder.newFolder();
+        final TeamworkConfig config = TeamworkConfig.newBuilder()
+                .maxRequests(32)
+                .maxRequestsPerHost(12)
+                .connectTimeoutMillis(1000)
+                .readTimeoutMillis(2000)
+                .writeTimeoutMillis(3000)
+                .cacheSizeBytes(1024)
+                .http2Enabled(false)
+                .build();
+
+        final OkHttpClient client = Teamwork.createOkHttpClient(config, cacheDir);
+
+        assertThat(client.dispatcher().getMaxRequests()).isEqualTo(32);
+        assertThat(client.dispatcher().getMaxRequestsPerHost()).isEqualTo(12);
+        assertThat(client.connectTimeoutMillis()).isEqualTo(1000);
+        assertThat(client.readTimeoutMillis()).isEqualTo(2000);
+        assertThat(client.writeTimeoutMillis()).isEqualTo(3000);
+        assertThat(client.cache().directory()).isEqualTo(cacheDir);
+        assertThat(client.cache().maxSize()).isEqualTo(1024);
+        assertThat(client.protocols()).containsExactly(Protocol.HTTP_1_1);
+    }
+
+    @Test
+    public void createOkHttpClient_ShouldOfferHttp2AndSkipCache_ByDefaultWithoutCacheDir() {
+        final OkHttpClient client = Teamwork.createOkHttpClient(TeamworkConfig.newBuilder().build(), null);
+
+        assertThat(client.protocols()).containsExactly(Protocol.HTTP_2, Protocol.HTTP_1_1);
+        assertThat(client.cache()).isNull();
+    }
+
+    @Test
+    public void build_ShouldEnableTheResilienceInterceptors_ByDefault() {
+        final TeamworkConfig config = TeamworkConfig.newBuilder().build();
+
+        assertThat(config.getRateLimiter().getPermitsPerMinute()).isEqualTo(150);
+        assertThat(config.getRetryPolicy()).isNotNull();
+        assertThat(config.getCircuitBreaker()).isNotNull();
+    }
+
+    @Test
+    public void build_ShouldDisableTheResilienceInterceptors_WhenSetToNull() {
+        final TeamworkConfig config = TeamworkConfig.newBuilder()
+                .rateLimiter(null)
+                .retryPolicy(null)
+                .circuitBreaker(null)
+                .build();
+
+        assertThat(config.getRateLimiter()).isNull();
+        assertThat(config.getRetryPolicy()).isNull();
+        assertThat(config.getCircuitBreaker()).isNull();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void build_ShouldFail_WhenMaxRequestsPerHostIsAboveMaxRequests() {
+        TeamworkConfig.newBuilder().maxRequests(4).maxRequestsPerHost(8).build();
+    }
+}
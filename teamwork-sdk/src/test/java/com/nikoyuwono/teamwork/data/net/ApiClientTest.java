@@ -0,0 +1,50 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import com.nikoyuwono.teamwork.service.BaseServiceTest;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ApiClientTest extends BaseServiceTest {
+
+    @Test
+    public void get_ShouldLeaveBodyReadable_WhenFirstUnsubscribesOnNext() throws IOException {
+        final char[] body = new char[64 * 1024];
+        Arrays.fill(body, 'a');
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(new String(body))
+                .throttleBody(8 * 1024, 20, TimeUnit.MILLISECONDS));
+
+        final Response response = apiClient.withPath("/projects.json").get().first().toBlocking().first();
+
+        assertThat(response.body().string()).hasSize(body.length);
+    }
+
+    @Test
+    public void networkScheduler_ShouldBeShared_ByClientsWithTheSameRequestsPerHost() {
+        final ApiClient first = apiClientWithMaxRequestsPerHost(7);
+        final ApiClient second = apiClientWithMaxRequestsPerHost(7);
+        final ApiClient third = apiClientWithMaxRequestsPerHost(9);
+
+        assertThat(first.networkScheduler()).isSameAs(second.networkScheduler());
+        assertThat(first.networkScheduler()).isNotSameAs(third.networkScheduler());
+    }
+
+    private ApiClient apiClientWithMaxRequestsPerHost(int maxRequestsPerHost) {
+        final Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        return new ApiClient.Builder()
+                .okHttpClient(new OkHttpClient.Builder().dispatcher(dispatcher).build())
+                .build();
+    }
+}
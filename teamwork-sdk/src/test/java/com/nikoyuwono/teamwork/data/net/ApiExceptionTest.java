@@ -0,0 +1,77 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import com.nikoyuwono.teamwork.service.BaseServiceTest;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import okhttp3.mockwebserver.MockResponse;
+import rx.observers.TestSubscriber;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ApiExceptionTest extends BaseServiceTest {
+
+    @Test
+    public void get_ShouldFailWithNotFound_CarryingCodeAndBody() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404).setBody("{\"MESSAGE\": \"Not found\"}"));
+
+        final ApiException exception = getError(apiClient);
+
+        assertThat(exception).isInstanceOf(NotFoundException.class).isInstanceOf(ClientErrorException.class);
+        assertThat(exception.getCode()).isEqualTo(404);
+        assertThat(exception.getUrl().encodedPath()).isEqualTo("/projects.json");
+        assertThat(exception.getBodySnippet()).isEqualTo("{\"MESSAGE\": \"Not found\"}");
+        assertThat(exception.isRetryable()).isFalse();
+    }
+
+    @Test
+    public void get_ShouldFailWithRateLimited_CarryingRetryAfter() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "5"));
+
+        final ApiException exception = getError(apiClient);
+
+        assertThat(exception).isInstanceOf(RateLimitedException.class);
+        assertThat(exception.getRetryAfterMillis()).isEqualTo(5000);
+        assertThat(exception.isRetryable()).isTrue();
+    }
+
+    @Test
+    public void get_ShouldFailWithServerError() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+
+        final ApiException exception = getError(apiClient);
+
+        assertThat(exception).isInstanceOf(ServerErrorException.class);
+        assertThat(exception.isRetryable()).isTrue();
+        assertThat(exception.getRetryAfterMillis()).isEqualTo(-1);
+    }
+
+    @Test
+    public void get_ShouldFailWithUnauthorized() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(401));
+
+        assertThat(getError(apiClientWithoutAuthenticator)).isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    public void get_ShouldBoundBodySnippet() {
+        final char[] body = new char[10000];
+        Arrays.fill(body, 'a');
+        mockWebServer.enqueue(new MockResponse().setResponseCode(400).setBody(new String(body)));
+
+        final ApiException exception = getError(apiClient);
+
+        assertThat(exception.getClass()).isEqualTo(ClientErrorException.class);
+        assertThat(exception.getBodySnippet()).hasSize(512);
+    }
+
+    private ApiException getError(ApiClient apiClient) {
+        final TestSubscriber<Object> subscriber = new TestSubscriber<>();
+        apiClient.withPath("/projects.json").get().subscribe(subscriber);
+        subscriber.awaitTerminalEvent();
+        subscriber.assertError(ApiException.class);
+        return (ApiException) subscriber.getOnErrorEvents().get(0);
+    }
+}
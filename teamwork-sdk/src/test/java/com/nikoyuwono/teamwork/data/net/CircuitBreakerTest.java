@@ -0,0 +1,150 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import com.nikoyuwono.teamwork.service.BaseServiceTest;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class CircuitBreakerTest extends BaseServiceTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final List<String> transitions = new ArrayList<>();
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.newBuilder()
+            .windowSize(4)
+            .minimumCalls(4)
+            .failureRateThreshold(0.5)
+            .openDurationMillis(1000)
+            .nanoTicker(nanoTime::get)
+            .listener((host, from, to) -> transitions.add(from + "->" + to))
+            .build();
+    private final OkHttpClient okHttpClient = new OkHttpClient.Builder()
+            .addInterceptor(circuitBreaker)
+            .build();
+
+    @Test
+    public void intercept_ShouldOpen_WhenFailureRateIsCrossed() throws IOException {
+        enqueue(200, 500, 200);
+        execute(3);
+        assertThat(circuitBreaker.getState(host())).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        enqueue(503);
+        execute(1);
+
+        assertThat(circuitBreaker.getState(host())).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.getStates()).containsEntry(host(), CircuitBreaker.State.OPEN);
+        assertThat(transitions).containsExactly("CLOSED->OPEN");
+    }
+
+    @Test
+    public void intercept_ShouldFailFast_WhileOpen() throws IOException {
+        open();
+        final int requestCount = mockWebServer.getRequestCount();
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(400));
+
+        try {
+            execute(1);
+            fail("The circuit should be open");
+        } catch (CircuitBreakerOpenException e) {
+            assertThat(e.getHost()).isEqualTo(host());
+            assertThat(e.getRetryAfterMillis()).isEqualTo(600);
+        }
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(requestCount);
+    }
+
+    @Test
+    public void intercept_ShouldClose_WhenProbeSucceeds() throws IOException {
+        open();
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        enqueue(200);
+
+        execute(1);
+
+        assertThat(circuitBreaker.getState(host())).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(transitions).containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED");
+    }
+
+    @Test
+    public void intercept_ShouldReopen_WhenProbeFails() throws IOException {
+        open();
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        enqueue(503);
+
+        execute(1);
+
+        assertThat(circuitBreaker.getState(host())).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(transitions).containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->OPEN");
+    }
+
+    @Test
+    public void intercept_ShouldNotCountClientErrors() throws IOException {
+        enqueue(404, 404, 401, 429);
+        execute(4);
+
+        assertThat(circuitBreaker.getState(host())).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void intercept_ShouldLetAnotherProbeThrough_WhenProbeThrowsRuntimeException() throws IOException {
+        open();
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        final OkHttpClient failingClient = okHttpClient.newBuilder()
+                .addInterceptor(chain -> {
+                    throw new IllegalStateException("Broken interceptor");
+                })
+                .build();
+
+        try {
+            failingClient.newCall(apiClient.withPath("/projects.json").createGetRequest()).execute();
+            fail("The probe should have thrown");
+        } catch (IllegalStateException expected) {
+            // The probe is over without a result
+        }
+        enqueue(200);
+        execute(1);
+
+        assertThat(circuitBreaker.getState(host())).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void build_ShouldFail_WhenMinimumCallsIsZero() {
+        CircuitBreaker.newBuilder().minimumCalls(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void build_ShouldFail_WhenOpenDurationIsZero() {
+        CircuitBreaker.newBuilder().openDurationMillis(0);
+    }
+
+    private void open() throws IOException {
+        enqueue(500, 500, 500, 500);
+        execute(4);
+        assertThat(circuitBreaker.getState(host())).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private void enqueue(int... codes) {
+        for (final int code : codes) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(code));
+        }
+    }
+
+    private void execute(int times) throws IOException {
+        for (int i = 0; i < times; i++) {
+            okHttpClient.newCall(apiClient.withPath("/projects.json").createGetRequest()).execute().close();
+        }
+    }
+
+    private String host() {
+        return mockWebServer.getHostName();
+    }
+}
@@ -0,0 +1,81 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CredentialStoreTest {
+
+    private static final String CREDENTIAL = "Basic Y3JlZGVudGlhbDo=";
+
+    private final FakeSharedPreferences sharedPreferences = new FakeSharedPreferences();
+
+    @Before
+    public void setUp() {
+        FakeSharedPreferences.install(sharedPreferences);
+        CredentialStore.invalidate();
+    }
+
+    @After
+    public void tearDown() {
+        FakeSharedPreferences.install(null);
+        CredentialStore.invalidate();
+    }
+
+    @Test
+    public void getCredential_ShouldReadThePreferencesOnce() {
+        assertThat(CredentialStore.getCredential()).isNull();
+        final int readCount = sharedPreferences.getReadCount();
+
+        CredentialStore.getCredential();
+        CredentialStore.getCredential();
+
+        assertThat(readCount).isPositive();
+        assertThat(sharedPreferences.getReadCount()).isEqualTo(readCount);
+    }
+
+    @Test
+    public void getCredential_ShouldServeTheSavedCredential_WithoutReadingThePreferences() {
+        CredentialStore.saveCredential(CREDENTIAL);
+        final int readCount = sharedPreferences.getReadCount();
+
+        assertThat(CredentialStore.getCredential()).isEqualTo(CREDENTIAL);
+        assertThat(sharedPreferences.getReadCount()).isEqualTo(readCount);
+    }
+
+    @Test
+    public void saveCredential_ShouldSkipTheWrite_WhenTheCredentialIsAlreadyStored() {
+        final long writeCount = CredentialStore.getWriteCount();
+        final long skippedWriteCount = CredentialStore.getSkippedWriteCount();
+
+        CredentialStore.saveCredential(CREDENTIAL);
+        CredentialStore.saveCredential(CREDENTIAL);
+
+        assertThat(CredentialStore.getWriteCount()).isEqualTo(writeCount + 1);
+        assertThat(CredentialStore.getSkippedWriteCount()).isEqualTo(skippedWriteCount + 1);
+    }
+
+    @Test
+    public void saveCredential_ShouldWrite_WhenTheCredentialChanges() {
+        final long writeCount = CredentialStore.getWriteCount();
+
+        CredentialStore.saveCredential(CREDENTIAL);
+        CredentialStore.saveCredential("Basic YW5vdGhlcjo=");
+
+        assertThat(CredentialStore.getWriteCount()).isEqualTo(writeCount + 2);
+        assertThat(CredentialStore.getCredential()).isEqualTo("Basic YW5vdGhlcjo=");
+    }
+
+    @Test
+    public void getCredential_ShouldNotRememberTheMissingPreferences_BeforeTeamworkIsInitialized() {
+        FakeSharedPreferences.install(null);
+        assertThat(CredentialStore.getCredential()).isNull();
+
+        FakeSharedPreferences.install(sharedPreferences);
+        CredentialStore.getCredential();
+
+        assertThat(sharedPreferences.getReadCount()).isPositive();
+    }
+}
@@ -0,0 +1,188 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.content.pm.ApplicationInfo;
+
+import com.nikoyuwono.teamwork.Teamwork;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link SharedPreferences} kept in a map, notifying its listeners synchronously, to run the preference caches on
+ * the JVM. Counts the reads so a test can tell a cache hit from a lookup.
+ */
+class FakeSharedPreferences implements SharedPreferences {
+
+    private final Map<String, Object> values = new HashMap<>();
+    private final List<OnSharedPreferenceChangeListener> listeners = new ArrayList<>();
+    private int readCount;
+
+    /**
+     * Initializes {@link Teamwork} with an application context handing out {@code sharedPreferences}, or none if
+     * it is null.
+     */
+    static void install(FakeSharedPreferences sharedPreferences) {
+        final Context context = mock(Context.class);
+        when(context.getApplicationContext()).thenReturn(context);
+        when(context.getApplicationInfo()).thenReturn(mock(ApplicationInfo.class));
+        when(context.getSharedPreferences(anyString(), anyInt())).thenReturn(sharedPreferences);
+        Teamwork.initialize(context);
+    }
+
+    int getReadCount() {
+        return readCount;
+    }
+
+    @Override
+    public Map<String, ?> getAll() {
+        readCount++;
+        return new HashMap<>(values);
+    }
+
+    @Override
+    public String getString(String key, String defValue) {
+        return (String) get(key, defValue);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<String> getStringSet(String key, Set<String> defValues) {
+        return (Set<String>) get(key, defValues);
+    }
+
+    @Override
+    public int getInt(String key, int defValue) {
+        return (Integer) get(key, defValue);
+    }
+
+    @Override
+    public long getLong(String key, long defValue) {
+        return (Long) get(key, defValue);
+    }
+
+    @Override
+    public float getFloat(String key, float defValue) {
+        return (Float) get(key, defValue);
+    }
+
+    @Override
+    public boolean getBoolean(String key, boolean defValue) {
+        return (Boolean) get(key, defValue);
+    }
+
+    @Override
+    public boolean contains(String key) {
+        readCount++;
+        return values.containsKey(key);
+    }
+
+    @Override
+    public Editor edit() {
+        return new FakeEditor();
+    }
+
+    @Override
+    public void registerOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void unregisterOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    private Object get(String key, Object defValue) {
+        readCount++;
+        return values.containsKey(key) ? values.get(key) : defValue;
+    }
+
+    private final class FakeEditor implements Editor {
+        private final Map<String, Object> changes = new HashMap<>();
+        private boolean clear;
+
+        @Override
+        public Editor putString(String key, String value) {
+            changes.put(key, value);
+            return this;
+        }
+
+        @Override
+        public Editor putStringSet(String key, Set<String> values) {
+            changes.put(key, values != null ? new HashSet<>(values) : null);
+            return this;
+        }
+
+        @Override
+        public Editor putInt(String key, int value) {
+            changes.put(key, value);
+            return this;
+        }
+
+        @Override
+        public Editor putLong(String key, long value) {
+            changes.put(key, value);
+            return this;
+        }
+
+        @Override
+        public Editor putFloat(String key, float value) {
+            changes.put(key, value);
+            return this;
+        }
+
+        @Override
+        public Editor putBoolean(String key, boolean value) {
+            changes.put(key, value);
+            return this;
+        }
+
+        @Override
+        public Editor remove(String key) {
+            // A null value removes the key, as with the platform
+            changes.put(key, null);
+            return this;
+        }
+
+        @Override
+        public Editor clear() {
+            clear = true;
+            return this;
+        }
+
+        @Override
+        public boolean commit() {
+            if (clear) {
+                values.clear();
+            }
+            for (final Map.Entry<String, Object> change : changes.entrySet()) {
+                if (change.getValue() == null) {
+                    values.remove(change.getKey());
+                } else {
+                    values.put(change.getKey(), change.getValue());
+                }
+            }
+            for (final OnSharedPreferenceChangeListener listener : new ArrayList<>(listeners)) {
+                for (final String key : changes.keySet()) {
+                    listener.onSharedPreferenceChanged(FakeSharedPreferences.this, key);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void apply() {
+            commit();
+        }
+    }
+}
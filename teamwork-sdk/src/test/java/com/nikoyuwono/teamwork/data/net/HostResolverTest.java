@@ -0,0 +1,73 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import okhttp3.HttpUrl;
+
+import static com.nikoyuwono.teamwork.data.net.ApiClient.HOST_PREFERENCE_KEY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HostResolverTest {
+
+    private final FakeSharedPreferences sharedPreferences = new FakeSharedPreferences();
+
+    @Before
+    public void setUp() {
+        FakeSharedPreferences.install(sharedPreferences);
+        HostResolver.invalidate();
+    }
+
+    @After
+    public void tearDown() {
+        FakeSharedPreferences.install(null);
+        HostResolver.invalidate();
+    }
+
+    @Test
+    public void getBaseUrl_ShouldDefaultToTheAuthenticateHost() {
+        assertThat(HostResolver.getBaseUrl()).isEqualTo(HttpUrl.parse("https://authenticate.teamworkpm.net/"));
+    }
+
+    @Test
+    public void getBaseUrl_ShouldReadThePreferencesOnce() {
+        sharedPreferences.edit().putString(HOST_PREFERENCE_KEY, "acme.teamwork.com").apply();
+
+        final HttpUrl baseUrl = HostResolver.getBaseUrl();
+        final int readCount = sharedPreferences.getReadCount();
+
+        assertThat(baseUrl).isEqualTo(HttpUrl.parse("https://acme.teamwork.com/"));
+        assertThat(HostResolver.getBaseUrl()).isSameAs(baseUrl);
+        assertThat(sharedPreferences.getReadCount()).isEqualTo(readCount);
+    }
+
+    @Test
+    public void saveHost_ShouldServeTheSavedHost_WithoutReadingThePreferences() {
+        HostResolver.saveHost("acme.teamwork.com");
+
+        assertThat(HostResolver.getBaseUrl().host()).isEqualTo("acme.teamwork.com");
+        assertThat(sharedPreferences.getReadCount()).isZero();
+        assertThat(sharedPreferences.getString(HOST_PREFERENCE_KEY, null)).isEqualTo("acme.teamwork.com");
+    }
+
+    @Test
+    public void getBaseUrl_ShouldFollowTheHost_WhenThePreferenceChangesElsewhere() {
+        HostResolver.getBaseUrl();
+
+        sharedPreferences.edit().putString(HOST_PREFERENCE_KEY, "other.teamwork.com").apply();
+
+        assertThat(HostResolver.getBaseUrl().host()).isEqualTo("other.teamwork.com");
+    }
+
+    @Test
+    public void getBaseUrl_ShouldKeepTheCachedUrl_WhenAnotherPreferenceChanges() {
+        final HttpUrl baseUrl = HostResolver.getBaseUrl();
+        final int readCount = sharedPreferences.getReadCount();
+
+        sharedPreferences.edit().putString("ANOTHER_PREFERENCE_KEY", "value").apply();
+
+        assertThat(HostResolver.getBaseUrl()).isSameAs(baseUrl);
+        assertThat(sharedPreferences.getReadCount()).isEqualTo(readCount);
+    }
+}
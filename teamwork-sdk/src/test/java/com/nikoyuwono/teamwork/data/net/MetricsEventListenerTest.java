@@ -0,0 +1,89 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import com.nikoyuwono.teamwork.service.BaseServiceTest;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetricsEventListenerTest extends BaseServiceTest {
+
+    private final List<RequestMetrics> requests = new CopyOnWriteArrayList<>();
+    private final MetricsSink metricsSink = new MetricsSink() {
+        @Override
+        public void onRequest(RequestMetrics metrics) {
+            requests.add(metrics);
+        }
+
+        @Override
+        public void onDecode(DecodeMetrics metrics) {
+        }
+    };
+
+    @Test
+    public void callEnd_ShouldReportOnce_AfterTheLastRetry() throws IOException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503).setBody("busy"));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"project\": {}}"));
+        final ApiClient measuredApiClient = measuredApiClient(3);
+
+        final Response response = measuredApiClient.withPath("/projects/123.json").get().toBlocking().single();
+        response.body().string();
+
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+        assertThat(requests).hasSize(1);
+        final RequestMetrics metrics = requests.get(0);
+        assertThat(metrics.getCode()).isEqualTo(200);
+        assertThat(metrics.getError()).isNull();
+        // Both attempts were read
+        assertThat(metrics.getResponseBytes()).isEqualTo(4 + 15);
+    }
+
+    @Test
+    public void callEnd_ShouldReportTheLastFailure_WhenTheRetriesRunOut() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503).setBody("busy"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503).setBody("busy"));
+        final ApiClient measuredApiClient = measuredApiClient(2);
+
+        final Throwable error = measuredApiClient.withPath("/projects/123.json").get()
+                .materialize().toBlocking().single().getThrowable();
+
+        assertThat(error).isInstanceOf(ApiException.class);
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0).getCode()).isEqualTo(503);
+    }
+
+    @Test
+    public void callEnd_ShouldReportEveryCall_WithoutRetries() throws IOException {
+        mockWebServer.enqueue(new MockResponse().setBody("{}"));
+        mockWebServer.enqueue(new MockResponse().setBody("{}"));
+        final ApiClient measuredApiClient = measuredApiClient(0);
+
+        measuredApiClient.withPath("/projects/1.json").get().toBlocking().single().body().string();
+        measuredApiClient.withPath("/projects/2.json").get().toBlocking().single().body().string();
+
+        assertThat(requests).hasSize(2);
+    }
+
+    private ApiClient measuredApiClient(int maxAttempts) {
+        final ApiClient.Builder builder = new ApiClient.Builder()
+                .baseUrl(mockWebServer.url("/"))
+                .okHttpClient(new OkHttpClient())
+                .metricsSink(metricsSink);
+        if (maxAttempts > 0) {
+            builder.retryPolicy(RetryPolicy.newBuilder()
+                    .maxAttempts(maxAttempts)
+                    .initialBackoffMillis(10)
+                    .jitter(0)
+                    .build());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import com.nikoyuwono.teamwork.data.net.MetricsRegistry.Metric;
+import com.nikoyuwono.teamwork.service.BaseServiceTest;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetricsRegistryTest extends BaseServiceTest {
+
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+    @Test
+    public void onRequest_ShouldRecordPhasesAndBytes_PerEndpoint() throws IOException {
+        mockWebServer.enqueue(new MockResponse().setBody("{\"project\": {}}"));
+        final ApiClient measuredApiClient = new ApiClient.Builder()
+                .baseUrl(mockWebServer.url("/"))
+                .okHttpClient(new OkHttpClient())
+                .metricsSink(metricsRegistry)
+                .build();
+
+        final Response response = measuredApiClient.withPath("/projects/123.json").get().toBlocking().single();
+        response.body().string();
+
+        final String endpoint = "GET /projects/{id}.json";
+        assertThat(metricsRegistry.getEndpoints()).containsExactly(endpoint);
+        assertThat(metricsRegistry.getHistogram(endpoint, Metric.TOTAL).getCount()).isEqualTo(1);
+        assertThat(metricsRegistry.getHistogram(endpoint, Metric.CONNECT).getCount()).isEqualTo(1);
+        assertThat(metricsRegistry.getHistogram(endpoint, Metric.TIME_TO_FIRST_BYTE).getCount()).isEqualTo(1);
+        assertThat(metricsRegistry.getHistogram(endpoint, Metric.RESPONSE_BYTES).getSum()).isEqualTo(15);
+        // Plain http, no handshake
+        assertThat(metricsRegistry.getHistogram(endpoint, Metric.TLS).getCount()).isZero();
+    }
+
+    @Test
+    public void endpointOf_ShouldReplaceIdSegments() {
+        assertThat(endpointOf("GET", "/projects/2323.json")).isEqualTo("GET /projects/{id}.json");
+        assertThat(endpointOf("PUT", "/projects/2323/star.json")).isEqualTo("PUT /projects/{id}/star.json");
+        assertThat(endpointOf("GET", "/projects/starred.json")).isEqualTo("GET /projects/starred.json");
+    }
+
+    @Test
+    public void histogram_ShouldReportPercentilesWithinTheirBucket() {
+        final Histogram histogram = new Histogram();
+        for (int value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+        histogram.record(-1);
+
+        assertThat(histogram.getCount()).isEqualTo(100);
+        assertThat(histogram.getMin()).isEqualTo(1);
+        assertThat(histogram.getMax()).isEqualTo(100);
+        assertThat(histogram.getMean()).isEqualTo(50.5);
+        assertThat(histogram.getPercentile(50)).isBetween(50L, 100L);
+        assertThat(histogram.getPercentile(100)).isEqualTo(100);
+    }
+
+    private static String endpointOf(String method, String path) {
+        return RequestMetrics.endpointOf(new Request.Builder()
+                .url(HttpUrl.parse("https://demo.teamwork.com" + path))
+                .method(method, method.equals("GET") ? null : RequestBody.create(null, new byte[0]))
+                .build());
+    }
+}
@@ -0,0 +1,167 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import com.nikoyuwono.teamwork.service.BaseServiceTest;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimiterTest extends BaseServiceTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final List<Long> sleeps = new ArrayList<>();
+    private final Call call = new OkHttpClient().newCall(new Request.Builder().url("http://localhost/").build());
+
+    @Test
+    public void acquire_ShouldLetBurstThrough_ThenSpacePermits() throws IOException {
+        final RateLimiter rateLimiter = rateLimiter(60);
+
+        for (int i = 0; i < 60; i++) {
+            rateLimiter.acquire(call);
+        }
+        assertThat(sleeps).isEmpty();
+
+        rateLimiter.acquire(call);
+        rateLimiter.acquire(call);
+        assertThat(sleeps).containsExactly(TimeUnit.SECONDS.toNanos(1), TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    public void acquire_ShouldRefill_AsTimePasses() throws IOException {
+        final RateLimiter rateLimiter = rateLimiter(60);
+        for (int i = 0; i < 60; i++) {
+            rateLimiter.acquire(call);
+        }
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquire(call);
+        }
+
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    public void intercept_ShouldAdoptLimitHeader() throws IOException {
+        final RateLimiter rateLimiter = rateLimiter(60);
+        mockWebServer.enqueue(new MockResponse().setHeader("X-RateLimit-Limit", "120"));
+
+        get(rateLimiter);
+
+        assertThat(rateLimiter.getPermitsPerMinute()).isEqualTo(120);
+    }
+
+    @Test
+    public void intercept_ShouldWaitForReset_WhenNoRequestIsRemaining() throws IOException {
+        final RateLimiter rateLimiter = rateLimiter(60);
+        mockWebServer.enqueue(new MockResponse()
+                .setHeader("X-RateLimit-Remaining", "0")
+                .setHeader("X-RateLimit-Reset", "30"));
+        mockWebServer.enqueue(new MockResponse());
+
+        get(rateLimiter);
+        get(rateLimiter);
+
+        // One interval after the reset
+        assertThat(sleeps).containsExactly(TimeUnit.SECONDS.toNanos(31));
+    }
+
+    @Test
+    public void intercept_ShouldWaitForRetryAfter_WhenTooManyRequests() throws IOException {
+        final RateLimiter rateLimiter = rateLimiter(60);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "10"));
+        mockWebServer.enqueue(new MockResponse());
+
+        get(rateLimiter);
+        get(rateLimiter);
+
+        assertThat(sleeps).containsExactly(TimeUnit.SECONDS.toNanos(11));
+    }
+
+    @Test
+    public void acquire_ShouldStaggerRequestsQueuedDuringPause() throws IOException {
+        // Sleeps without moving the clock, as if every request was waiting at once
+        final RateLimiter rateLimiter = new RateLimiter(60, nanoTime::get, (nanos, waitingCall) -> sleeps.add(nanos));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "10"));
+
+        get(rateLimiter);
+        rateLimiter.acquire(call);
+        rateLimiter.acquire(call);
+        rateLimiter.acquire(call);
+
+        assertThat(sleeps).containsExactly(
+                TimeUnit.SECONDS.toNanos(11), TimeUnit.SECONDS.toNanos(12), TimeUnit.SECONDS.toNanos(13));
+    }
+
+    @Test
+    public void acquire_ShouldNotStorePermits_DuringPause() throws IOException {
+        final RateLimiter rateLimiter = rateLimiter(60);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "10"));
+
+        get(rateLimiter);
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        rateLimiter.acquire(call);
+        rateLimiter.acquire(call);
+
+        assertThat(sleeps).containsExactly(TimeUnit.SECONDS.toNanos(1), TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    public void intercept_ShouldStopWaiting_WhenTheCallIsCanceled() throws Exception {
+        // One permit a minute, taken by the first request
+        final RateLimiter rateLimiter = new RateLimiter(1);
+        mockWebServer.enqueue(new MockResponse());
+        get(rateLimiter);
+        final OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .addInterceptor(rateLimiter)
+                .build();
+        final Call waitingCall = okHttpClient.newCall(apiClient.withPath("/projects.json").createGetRequest());
+        final BlockingQueue<IOException> failures = new LinkedBlockingQueue<>();
+        waitingCall.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                failures.add(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+            }
+        });
+
+        Thread.sleep(200);
+        waitingCall.cancel();
+
+        assertThat(failures.poll(2, TimeUnit.SECONDS)).isNotNull();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    private RateLimiter rateLimiter(int permitsPerMinute) {
+        return new RateLimiter(permitsPerMinute, nanoTime::get, (nanos, waitingCall) -> {
+            sleeps.add(nanos);
+            nanoTime.addAndGet(nanos);
+        });
+    }
+
+    private void get(RateLimiter rateLimiter) throws IOException {
+        final OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .addInterceptor(rateLimiter)
+                .build();
+        okHttpClient.newCall(apiClient.withPath("/projects.json").createGetRequest()).execute().close();
+    }
+}
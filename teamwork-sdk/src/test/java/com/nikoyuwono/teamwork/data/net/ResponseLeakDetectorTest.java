@@ -0,0 +1,66 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import com.nikoyuwono.teamwork.service.BaseServiceTest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseLeakDetectorTest extends BaseServiceTest {
+
+    private final List<String> leakOrigins = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void enableLeakDetector() {
+        ResponseLeakDetector.enable((origin, requestTrace) -> leakOrigins.add(origin));
+    }
+
+    @After
+    public void disableLeakDetector() {
+        ResponseLeakDetector.disable();
+    }
+
+    @Test
+    public void reportLeaks_ShouldReportOrigin_WhenResponseIsNeverClosed() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse().setBody("{\"STATUS\": \"OK\"}"));
+        requestAndDropResponse(false);
+
+        awaitCollection();
+
+        assertThat(leakOrigins).hasSize(1);
+        assertThat(leakOrigins.get(0)).startsWith("ResponseLeakDetectorTest.requestAndDropResponse(");
+    }
+
+    @Test
+    public void reportLeaks_ShouldReportNothing_WhenResponseIsClosed() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse().setBody("{\"STATUS\": \"OK\"}"));
+        requestAndDropResponse(true);
+
+        awaitCollection();
+
+        assertThat(leakOrigins).isEmpty();
+    }
+
+    private void requestAndDropResponse(final boolean close) {
+        final Response response = apiClient.withPath("/projects.json").get().toBlocking().single();
+        if (close) {
+            response.close();
+        }
+    }
+
+    private void awaitCollection() throws InterruptedException {
+        for (int i = 0; i < 10 && leakOrigins.isEmpty(); i++) {
+            System.gc();
+            Thread.sleep(50);
+            ResponseLeakDetector.reportLeaks();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.nikoyuwono.teamwork.data.net;
+
+import com.nikoyuwono.teamwork.service.BaseServiceTest;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class RetryInterceptorTest extends BaseServiceTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final List<Long> sleepsMillis = new ArrayList<>();
+    private final List<RetryAttempt> attempts = new ArrayList<>();
+
+    private final RetryPolicy.Builder retryPolicyBuilder = RetryPolicy.newBuilder()
+            .maxAttempts(4)
+            .initialBackoffMillis(100)
+            .multiplier(2)
+            .jitter(0)
+            .listener(attempts::add);
+
+    @Test
+    public void intercept_ShouldRetryServerErrors_WithExponentialBackoff() throws IOException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(502));
+        mockWebServer.enqueue(new MockResponse().setBody("OK"));
+
+        final Response response = execute(retryPolicyBuilder.build(), get());
+
+        assertThat(response.body().string()).isEqualTo("OK");
+        assertThat(sleepsMillis).containsExactly(100L, 200L, 400L);
+        assertThat(attempts).extracting(RetryAttempt::getCode).containsExactly(500, 503, 502, 200);
+        assertThat(attempts).extracting(RetryAttempt::willRetry).containsExactly(true, true, true, false);
+    }
+
+    @Test
+    public void intercept_ShouldReturnLastResponse_WhenAttemptsAreExhausted() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        }
+
+        final Response response = execute(retryPolicyBuilder.build(), get());
+
+        response.close();
+        assertThat(response.code()).isEqualTo(500);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(4);
+    }
+
+    @Test
+    public void intercept_ShouldRetrySocketErrors() throws IOException {
+        mockWebServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        mockWebServer.enqueue(new MockResponse().setBody("OK"));
+
+        final Response response = execute(retryPolicyBuilder.build(), get());
+
+        assertThat(response.body().string()).isEqualTo("OK");
+        assertThat(attempts.get(0).getError()).isNotNull();
+        assertThat(attempts.get(0).getCode()).isEqualTo(-1);
+    }
+
+    @Test
+    public void intercept_ShouldHonorRetryAfter() throws IOException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "3"));
+        mockWebServer.enqueue(new MockResponse());
+
+        execute(retryPolicyBuilder.build(), get()).close();
+
+        assertThat(sleepsMillis).containsExactly(3000L);
+    }
+
+    @Test
+    public void intercept_ShouldGiveUp_WhenMaxElapsedTimeWouldBeExceeded() throws IOException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "60"));
+
+        final Response response = execute(retryPolicyBuilder.maxElapsedMillis(30000).build(), get());
+
+        response.close();
+        assertThat(response.code()).isEqualTo(503);
+        assertThat(sleepsMillis).isEmpty();
+    }
+
+    @Test
+    public void intercept_ShouldNotRetryPost() throws IOException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+
+        final Response response = execute(retryPolicyBuilder.build(),
+                apiClient.withPath("/projects.json").createPostRequest());
+
+        response.close();
+        assertThat(response.code()).isEqualTo(500);
+        assertThat(attempts).isEmpty();
+    }
+
+    @Test
+    public void intercept_ShouldNotRetryClientErrors() throws IOException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+
+        execute(retryPolicyBuilder.build(), get()).close();
+
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void apiClient_ShouldRetry_WhenRetryPolicyIsSet() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setBody("OK"));
+        final ApiClient retryingApiClient = new ApiClient.Builder()
+                .baseUrl(mockWebServer.url("/"))
+                .okHttpClient(new OkHttpClient())
+                .retryPolicy(retryPolicyBuilder.initialBackoffMillis(1).build())
+                .build();
+
+        try {
+            retryingApiClient.withPath("/projects.json").get().toBlocking().single().close();
+        } catch (RuntimeException e) {
+            fail("The 503 should have been retried", e);
+        }
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void intercept_ShouldStopWaiting_WhenTheCallIsCanceledDuringBackoff() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "20"));
+        final CountDownLatch backingOff = new CountDownLatch(1);
+        final RetryPolicy retryPolicy = retryPolicyBuilder
+                .listener(attempt -> backingOff.countDown())
+                .build();
+        final OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .addInterceptor(new RetryInterceptor(retryPolicy))
+                .build();
+        final Call call = okHttpClient.newCall(get());
+        final BlockingQueue<IOException> failures = new LinkedBlockingQueue<>();
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                failures.add(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+            }
+        });
+
+        assertThat(backingOff.await(2, TimeUnit.SECONDS)).isTrue();
+        call.cancel();
+
+        assertThat(failures.poll(2, TimeUnit.SECONDS)).isNotNull();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    private Request get() {
+        return apiClient.withPath("/projects.json").createGetRequest();
+    }
+
+    private Response execute(RetryPolicy retryPolicy, Request request) throws IOException {
+        final RetryInterceptor retryInterceptor = new RetryInterceptor(retryPolicy, nanoTime::get, (nanos, waitingCall) -> {
+            sleepsMillis.add(TimeUnit.NANOSECONDS.toMillis(nanos));
+            nanoTime.addAndGet(nanos);
+        }, new Random(0));
+        final OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .addInterceptor(retryInterceptor)
+                .build();
+        return okHttpClient.newCall(request).execute();
+    }
+}
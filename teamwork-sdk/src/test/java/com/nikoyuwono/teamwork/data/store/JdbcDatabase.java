@@ -0,0 +1,107 @@
+package com.nikoyuwono.teamwork.data.store;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link Database} on an in-memory SQLite database through the xerial JDBC driver, to run the stores on the JVM.
+ */
+class JdbcDatabase implements Database {
+
+    private final Connection connection;
+
+    JdbcDatabase() {
+        try {
+            connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void execute(String sql, Object... bindArgs) {
+        try {
+            final PreparedStatement statement = connection.prepareStatement(sql);
+            try {
+                for (int i = 0; i < bindArgs.length; i++) {
+                    statement.setObject(i + 1, bindArgs[i]);
+                }
+                statement.execute();
+            } finally {
+                statement.close();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public <T> List<T> query(String sql, String[] selectionArgs, RowMapper<T> rowMapper) {
+        try {
+            final PreparedStatement statement = connection.prepareStatement(sql);
+            try {
+                if (selectionArgs != null) {
+                    for (int i = 0; i < selectionArgs.length; i++) {
+                        statement.setString(i + 1, selectionArgs[i]);
+                    }
+                }
+                final ResultSet resultSet = statement.executeQuery();
+                final List<T> results = new ArrayList<>();
+                final Row row = new Row() {
+                    @Override
+                    public String getString(int column) {
+                        return get(() -> resultSet.getString(column + 1));
+                    }
+
+                    @Override
+                    public long getLong(int column) {
+                        return get(() -> resultSet.getLong(column + 1));
+                    }
+                };
+                while (resultSet.next()) {
+                    results.add(rowMapper.map(row));
+                }
+                return results;
+            } finally {
+                statement.close();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void inTransaction(Runnable work) {
+        try {
+            connection.setAutoCommit(false);
+            try {
+                work.run();
+                connection.commit();
+            } catch (RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private interface SqlGetter<T> {
+        T get() throws SQLException;
+    }
+
+    private static <T> T get(SqlGetter<T> getter) {
+        try {
+            return getter.get();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
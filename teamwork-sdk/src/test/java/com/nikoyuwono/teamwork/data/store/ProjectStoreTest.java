@@ -0,0 +1,85 @@
+package com.nikoyuwono.teamwork.data.store;
+
+import com.nikoyuwono.teamwork.data.model.Project;
+import com.nikoyuwono.teamwork.service.ModelTypeAdapters;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProjectStoreTest {
+
+    private final ProjectStore projectStore = new ProjectStore(new JdbcDatabase(), ModelTypeAdapters.gson());
+
+    @Test
+    public void saveProjects_ShouldKeepEveryField() {
+        projectStore.saveProjects(Collections.singletonList(project("1", "Demo", "999", true)));
+
+        final Project project = projectStore.getProject("1");
+        assertThat(project.getName()).isEqualTo("Demo");
+        assertThat(project.getCompany().getId()).isEqualTo("999");
+        assertThat(project.isStarred()).isTrue();
+        assertThat(project.getLastChangedOn()).isEqualTo("2014-03-18T11:20:49Z");
+        assertThat(projectStore.getProject("2")).isNull();
+    }
+
+    @Test
+    public void saveProjects_ShouldReplaceExistingProject() {
+        projectStore.saveProjects(Collections.singletonList(project("1", "Demo", "999", false)));
+        projectStore.saveProjects(Collections.singletonList(project("1", "Renamed", "999", false)));
+
+        assertThat(projectStore.getProjects()).extracting(Project::getName).containsExactly("Renamed");
+    }
+
+    @Test
+    public void getProjects_ShouldFilterByCompanyAndStar() {
+        projectStore.saveProjects(Arrays.asList(
+                project("1", "B", "999", true),
+                project("2", "A", "999", false),
+                project("3", "C", "888", true)));
+
+        assertThat(projectStore.getProjects()).extracting(Project::getId).containsExactly("2", "1", "3");
+        assertThat(projectStore.getCompanyProjects("999")).extracting(Project::getId).containsExactly("2", "1");
+        assertThat(projectStore.getStarredProjects()).extracting(Project::getId).containsExactly("1", "3");
+
+        projectStore.deleteProject("1");
+        assertThat(projectStore.getProjects()).extracting(Project::getId).containsExactly("2", "3");
+    }
+
+    @Test
+    public void replaceProjects_ShouldRemoveProjectsMissingFromTheNewOnes() {
+        projectStore.saveProjects(Arrays.asList(
+                project("1", "A", "999", false),
+                project("2", "B", "999", false)));
+
+        projectStore.replaceProjects(Arrays.asList(
+                project("2", "Renamed", "999", false),
+                project("3", "C", "888", false)));
+
+        assertThat(projectStore.getProjects()).extracting(Project::getId).containsExactly("3", "2");
+    }
+
+    @Test
+    public void clear_ShouldRemoveRecordsAndSyncState() {
+        projectStore.saveProjects(Collections.singletonList(project("1", "Demo", "999", false)));
+        projectStore.putSyncState("projects.lastChangedOn", "2014-03-18T11:20:49Z");
+
+        projectStore.clear();
+
+        assertThat(projectStore.getProjects()).isEmpty();
+        assertThat(projectStore.getSyncState("projects.lastChangedOn")).isNull();
+    }
+
+    private static Project project(String id, String name, String companyId, boolean starred) {
+        return Project.newBuilder()
+                .id(id)
+                .name(name)
+                .company(new Project.Company("Company " + companyId, companyId))
+                .starred(starred)
+                .lastChangedOn("2014-03-18T11:20:49Z")
+                .build();
+    }
+}
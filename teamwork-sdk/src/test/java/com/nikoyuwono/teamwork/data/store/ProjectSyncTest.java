@@ -0,0 +1,149 @@
+package com.nikoyuwono.teamwork.data.store;
+
+import com.nikoyuwono.teamwork.data.model.GetProjectParameter;
+import com.nikoyuwono.teamwork.data.model.Project;
+import com.nikoyuwono.teamwork.data.model.ProjectStatus;
+import com.nikoyuwono.teamwork.service.ModelTypeAdapters;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+import rx.Observable;
+import rx.observers.TestSubscriber;
+import rx.schedulers.Schedulers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProjectSyncTest {
+
+    private final ProjectStore projectStore = new ProjectStore(new JdbcDatabase(), ModelTypeAdapters.gson());
+    private final List<GetProjectParameter> parameters = new ArrayList<>();
+    private final Queue<Observable<List<Project>>> responses = new LinkedList<>();
+    private final ProjectSync projectSync = new ProjectSync(projectStore, parameter -> {
+        parameters.add(parameter);
+        return responses.remove();
+    }, Schedulers.io());
+
+    @Test
+    public void sync_ShouldFetchEverything_TheFirstTime() {
+        responses.add(Observable.just(Collections.singletonList(project("1", "2014-03-18T11:20:49Z"))));
+
+        assertThat(projectSync.sync().toBlocking().single()).isEqualTo(1);
+
+        assertThat(parameters.get(0).getProjectStatus()).isEqualTo(ProjectStatus.ALL);
+        assertThat(parameters.get(0).getUpdatedAfterDate()).isNull();
+        assertThat(parameters.get(0).getUpdatedAfterTime()).isNull();
+        assertThat(projectStore.getProjects()).extracting(Project::getId).containsExactly("1");
+    }
+
+    @Test
+    public void sync_ShouldOnlyFetchChanges_SinceNewestLastChangedOn() {
+        responses.add(Observable.just(Arrays.asList(
+                project("1", "2014-03-18T11:20:49Z"),
+                project("2", "2015-01-02T08:05:00Z"))));
+        responses.add(Observable.just(Collections.emptyList()));
+        responses.add(Observable.just(Collections.emptyList()));
+
+        projectSync.sync().toBlocking().single();
+        projectSync.sync().toBlocking().single();
+        projectSync.sync().toBlocking().single();
+
+        assertThat(parameters.get(1).getUpdatedAfterDate()).isEqualTo("20150102");
+        assertThat(parameters.get(1).getUpdatedAfterTime()).isEqualTo("08:05");
+        // An empty delta keeps the previous marker
+        assertThat(parameters.get(2).getUpdatedAfterDate()).isEqualTo("20150102");
+    }
+
+    @Test
+    public void sync_ShouldKeepMarker_WhenFetchFails() {
+        responses.add(Observable.just(Collections.singletonList(project("1", "2014-03-18T11:20:49Z"))));
+        responses.add(Observable.error(new IOException("offline")));
+        responses.add(Observable.just(Collections.emptyList()));
+
+        projectSync.sync().toBlocking().single();
+        final TestSubscriber<Integer> failed = new TestSubscriber<>();
+        projectSync.sync().subscribe(failed);
+        failed.awaitTerminalEvent();
+        failed.assertError(IOException.class);
+        projectSync.sync().toBlocking().single();
+
+        assertThat(parameters.get(2).getUpdatedAfterDate()).isEqualTo("20140318");
+        assertThat(parameters.get(2).getUpdatedAfterTime()).isEqualTo("11:20");
+    }
+
+    @Test
+    public void sync_ShouldRemoveStoredProjectsMissingFromTheServer_TheFirstTime() {
+        projectStore.saveProjects(Collections.singletonList(project("1", "2014-03-18T11:20:49Z")));
+        responses.add(Observable.just(Collections.singletonList(project("2", "2015-01-02T08:05:00Z"))));
+
+        projectSync.sync().toBlocking().single();
+
+        assertThat(projectStore.getProjects()).extracting(Project::getId).containsExactly("2");
+    }
+
+    @Test
+    public void resync_ShouldFetchEverythingAndRemoveDeletedProjects() {
+        responses.add(Observable.just(Arrays.asList(
+                project("1", "2014-03-18T11:20:49Z"),
+                project("2", "2015-01-02T08:05:00Z"))));
+        responses.add(Observable.just(Collections.singletonList(project("2", "2015-01-02T08:05:00Z"))));
+        responses.add(Observable.just(Collections.emptyList()));
+
+        projectSync.sync().toBlocking().single();
+        assertThat(projectSync.resync().toBlocking().single()).isEqualTo(1);
+        projectSync.sync().toBlocking().single();
+
+        assertThat(parameters.get(1).getUpdatedAfterDate()).isNull();
+        assertThat(projectStore.getProjects()).extracting(Project::getId).containsExactly("2");
+        assertThat(parameters.get(2).getUpdatedAfterDate()).isEqualTo("20150102");
+    }
+
+    @Test
+    public void getProjects_ShouldEmitStoredProjects_ThenSyncedOnes() {
+        projectStore.saveProjects(Collections.singletonList(project("1", "2014-03-18T11:20:49Z")));
+        projectStore.putSyncState(ProjectSync.LAST_CHANGED_ON, "2014-03-18T11:20:49Z");
+        responses.add(Observable.just(Collections.singletonList(project("2", "2015-01-02T08:05:00Z"))));
+
+        final List<List<Project>> emitted = projectSync.getProjects().toList().toBlocking().single();
+
+        assertThat(emitted).hasSize(2);
+        assertThat(emitted.get(0)).extracting(Project::getId).containsExactly("1");
+        assertThat(emitted.get(1)).extracting(Project::getId).containsExactly("1", "2");
+    }
+
+    @Test
+    public void getProjects_ShouldEmitStoredProjectsOnce_WhenNothingChanged() {
+        projectStore.saveProjects(Collections.singletonList(project("1", "2014-03-18T11:20:49Z")));
+        responses.add(Observable.just(Collections.emptyList()));
+
+        assertThat(projectSync.getProjects().toList().toBlocking().single()).hasSize(1);
+    }
+
+    @Test
+    public void getProjects_ShouldEmitStoredProjects_BeforeSyncError() {
+        projectStore.saveProjects(Collections.singletonList(project("1", "2014-03-18T11:20:49Z")));
+        responses.add(Observable.error(new IOException("offline")));
+
+        final TestSubscriber<List<Project>> subscriber = new TestSubscriber<>();
+        projectSync.getProjects().subscribe(subscriber);
+        subscriber.awaitTerminalEvent();
+
+        assertThat(subscriber.getOnNextEvents()).hasSize(1);
+        subscriber.assertError(IOException.class);
+    }
+
+    private static Project project(String id, String lastChangedOn) {
+        return Project.newBuilder()
+                .id(id)
+                .name("Project " + id)
+                .lastChangedOn(lastChangedOn)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.nikoyuwono.teamwork.service;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.nikoyuwono.teamwork.data.model.Project;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonArrayReaderTest {
+
+    private static final TypeAdapter<Project> PROJECT_ADAPTER = new Gson().getAdapter(Project.class);
+
+    @Test
+    public void readAll_ShouldReadEveryElement_WhenArrayComesAfterOtherFields() throws IOException {
+        final JsonArrayReader<Project> reader = newReader("{\n" +
+                "    \"STATUS\": \"OK\",\n" +
+                "    \"meta\": {\"page\": [1, 2, {\"nested\": true}]},\n" +
+                "    \"projects\": [\n" +
+                "        {\"id\": \"999\", \"name\": \"First\", \"company\": {\"id\": \"1\", \"name\": \"Company\"}},\n" +
+                "        {\"id\": \"1000\", \"name\": \"Second\"}\n" +
+                "    ]\n" +
+                "}");
+
+        final List<Project> projects = reader.readAll();
+
+        assertThat(projects).hasSize(2);
+        assertThat(projects.get(0).getId()).isEqualTo("999");
+        assertThat(projects.get(0).getCompany().getName()).isEqualTo("Company");
+        assertThat(projects.get(1).getName()).isEqualTo("Second");
+    }
+
+    @Test
+    public void next_ShouldReturnElementsOneByOne() throws IOException {
+        final JsonArrayReader<Project> reader = newReader("{\"projects\": [{\"id\": \"1\"}, {\"id\": \"2\"}]}");
+
+        assertThat(reader.hasNext()).isTrue();
+        assertThat(reader.next().getId()).isEqualTo("1");
+        assertThat(reader.hasNext()).isTrue();
+        assertThat(reader.next().getId()).isEqualTo("2");
+        assertThat(reader.hasNext()).isFalse();
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void next_ShouldThrow_WhenArrayIsExhausted() throws IOException {
+        final JsonArrayReader<Project> reader = newReader("{\"projects\": []}");
+        reader.next();
+    }
+
+    @Test
+    public void readAll_ShouldReturnEmptyList_WhenArrayIsMissingOrNull() throws IOException {
+        assertThat(newReader("{\"STATUS\": \"OK\"}").readAll()).isEmpty();
+        assertThat(newReader("{\"projects\": null}").readAll()).isEmpty();
+    }
+
+    private JsonArrayReader<Project> newReader(final String json) {
+        return new JsonArrayReader<>(new StringReader(json), "projects", PROJECT_ADAPTER);
+    }
+}
@@ -0,0 +1,58 @@
+package com.nikoyuwono.teamwork.service;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MemoryCacheTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final MemoryCache memoryCache = new MemoryCache(10, TimeUnit.SECONDS, 2, nanoTime::get);
+
+    @Test
+    public void get_ShouldReturnValue_UntilTtlExpires() {
+        memoryCache.put("/projects.json", "projects");
+
+        nanoTime.set(TimeUnit.SECONDS.toNanos(9));
+        assertThat(memoryCache.<String>get("/projects.json")).isEqualTo("projects");
+
+        nanoTime.set(TimeUnit.SECONDS.toNanos(10));
+        assertThat(memoryCache.<String>get("/projects.json")).isNull();
+        assertThat(memoryCache.size()).isZero();
+    }
+
+    @Test
+    public void put_ShouldEvictLeastRecentlyUsedEntry_WhenFull() {
+        memoryCache.put("/projects/1.json", "1");
+        memoryCache.put("/projects/2.json", "2");
+        memoryCache.get("/projects/1.json");
+        memoryCache.put("/projects/3.json", "3");
+
+        assertThat(memoryCache.<String>get("/projects/1.json")).isEqualTo("1");
+        assertThat(memoryCache.<String>get("/projects/2.json")).isNull();
+        assertThat(memoryCache.<String>get("/projects/3.json")).isEqualTo("3");
+        assertThat(memoryCache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void get_ShouldCountHitsAndMisses() {
+        memoryCache.get("/projects.json");
+        memoryCache.put("/projects.json", "projects");
+        memoryCache.get("/projects.json");
+        memoryCache.get("/projects.json");
+
+        assertThat(memoryCache.getHitCount()).isEqualTo(2);
+        assertThat(memoryCache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void invalidateAll_ShouldRemoveEveryEntry() {
+        memoryCache.put("/projects.json", "projects");
+        memoryCache.invalidateAll();
+
+        assertThat(memoryCache.<String>get("/projects.json")).isNull();
+    }
+}
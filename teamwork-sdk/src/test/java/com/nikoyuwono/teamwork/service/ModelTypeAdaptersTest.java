@@ -0,0 +1,74 @@
+package com.nikoyuwono.teamwork.service;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.nikoyuwono.teamwork.data.model.Account;
+import com.nikoyuwono.teamwork.data.model.Person;
+import com.nikoyuwono.teamwork.data.model.Project;
+import com.nikoyuwono.teamwork.data.model.Project_TypeAdapter;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ModelTypeAdaptersTest {
+
+    private static final Gson REFLECTIVE_GSON = new Gson();
+
+    private static final String PROJECT_JSON = "{\n" +
+            "    \"company\": {\"name\": \"Demo 1 Company\", \"is-owner\": \"1\", \"id\": \"999\"},\n" +
+            "    \"starred\": \"true\",\n" +
+            "    \"name\": \"Demo Project\",\n" +
+            "    \"show-announcement\": false,\n" +
+            "    \"announcement\": null,\n" +
+            "    \"description\": 12,\n" +
+            "    \"status\": \"active\",\n" +
+            "    \"category\": {\"name\": \"\", \"id\": \"\"},\n" +
+            "    \"notifyEveryone\": null,\n" +
+            "    \"id\": \"999\",\n" +
+            "    \"harvest-timers-enabled\": true,\n" +
+            "    \"people\": [\"1\", \"2\"]\n" +
+            "}";
+
+    private static final String PERSON_JSON = "{\n" +
+            "    \"id\": \"7\",\n" +
+            "    \"first-name\": \"Jane\",\n" +
+            "    \"administrator\": true,\n" +
+            "    \"permissions\": {\"can-manage-people\": true, \"can-add-projects\": false}\n" +
+            "}";
+
+    private static final String ACCOUNT_JSON = "{\n" +
+            "    \"requirehttps\": true,\n" +
+            "    \"name\": \"Demo\",\n" +
+            "    \"URL\": \"https://demo.teamwork.com/\",\n" +
+            "    \"companyid\": \"999\"\n" +
+            "}";
+
+    @Test
+    public void get_ShouldReturnGeneratedAdapter() {
+        final TypeAdapter<Project> adapter = ModelTypeAdapters.get(Project.class);
+        assertThat(adapter).isInstanceOf(Project_TypeAdapter.class);
+    }
+
+    @Test
+    public void generatedAdapters_ShouldReadLikeReflection() {
+        assertReadsLikeReflection(PROJECT_JSON, Project.class);
+        assertReadsLikeReflection(PERSON_JSON, Person.class);
+        assertReadsLikeReflection(ACCOUNT_JSON, Account.class);
+    }
+
+    @Test
+    public void generatedAdapters_ShouldWriteLikeReflection() {
+        final Project project = ModelTypeAdapters.gson().fromJson(PROJECT_JSON, Project.class);
+        assertThat(ModelTypeAdapters.gson().toJson(project)).isEqualTo(REFLECTIVE_GSON.toJson(project));
+
+        final Person person = ModelTypeAdapters.gson().fromJson(PERSON_JSON, Person.class);
+        assertThat(ModelTypeAdapters.gson().toJson(person)).isEqualTo(REFLECTIVE_GSON.toJson(person));
+    }
+
+    private static <T> void assertReadsLikeReflection(final String json, final Class<T> type) {
+        final T generated = ModelTypeAdapters.gson().fromJson(json, type);
+        final T reflective = REFLECTIVE_GSON.fromJson(json, type);
+        assertThat(generated).isEqualToComparingFieldByFieldRecursively(reflective);
+    }
+}
@@ -0,0 +1,40 @@
+package com.nikoyuwono.teamwork.service;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import rx.Observable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UtilTest {
+
+    @Test
+    public void deliver_ShouldNotReportCallbackFailureAsRequestError() {
+        final IllegalStateException bug = new IllegalStateException("bug in the callback");
+        final AtomicReference<Throwable> uncaught = new AtomicReference<>();
+        final AtomicReference<Exception> error = new AtomicReference<>();
+        final Thread thread = Thread.currentThread();
+        final Thread.UncaughtExceptionHandler previousHandler = thread.getUncaughtExceptionHandler();
+        thread.setUncaughtExceptionHandler((t, e) -> uncaught.set(e));
+        try {
+            Util.deliver(Observable.just("content"), new RequestCallback<String>() {
+                @Override
+                public void onGetContent(String content) {
+                    throw bug;
+                }
+
+                @Override
+                public void onError(Exception e) {
+                    error.set(e);
+                }
+            });
+        } finally {
+            thread.setUncaughtExceptionHandler(previousHandler);
+        }
+
+        assertThat(error.get()).isNull();
+        assertThat(uncaught.get()).isSameAs(bug);
+    }
+}
@@ -2,11 +2,22 @@ package com.nikoyuwono.teamwork.service.project;
 
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
+import com.nikoyuwono.teamwork.data.model.ActionResult;
+import com.nikoyuwono.teamwork.data.model.BatchResult;
 import com.nikoyuwono.teamwork.data.model.NewProject;
+import com.nikoyuwono.teamwork.data.model.Page;
 import com.nikoyuwono.teamwork.data.model.Project;
 import com.nikoyuwono.teamwork.data.net.ApiClient;
+import com.nikoyuwono.teamwork.data.net.DecodeMetrics;
+import com.nikoyuwono.teamwork.data.net.Histogram;
+import com.nikoyuwono.teamwork.data.net.MetricsRegistry;
+import com.nikoyuwono.teamwork.data.net.MetricsRegistry.Metric;
+import com.nikoyuwono.teamwork.data.net.MetricsSink;
+import com.nikoyuwono.teamwork.data.net.RequestMetrics;
+import com.nikoyuwono.teamwork.data.net.ServerErrorException;
 import com.nikoyuwono.teamwork.service.BaseServiceTest;
 import com.nikoyuwono.teamwork.service.HttpMethod;
+import com.nikoyuwono.teamwork.service.MemoryCache;
 import com.nikoyuwono.teamwork.service.RequestCallback;
 
 import org.junit.BeforeClass;
@@ -14,15 +25,25 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
-import okhttp3.Response;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import rx.Observable;
+import rx.Subscription;
 import rx.observers.TestSubscriber;
+import rx.schedulers.Schedulers;
 
 import static com.nikoyuwono.teamwork.service.project.ProjectServiceImpl.COMPANY_PROJECTS_URL_PATH;
 import static com.nikoyuwono.teamwork.service.project.ProjectServiceImpl.PROJECTS_URL_PATH;
@@ -52,12 +73,12 @@ public class ProjectServiceImplTest extends BaseServiceTest {
     public void createProject_ShouldSucceed_WhenNewProjectIsPassedAndApiKeyIsCorrect() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
         mockWebServer.enqueue(new MockResponse());
-        final AtomicReference<Response> responseReference = new AtomicReference<>();
+        final AtomicReference<ActionResult> responseReference = new AtomicReference<>();
         final CountDownLatch countDownLatch = new CountDownLatch(1);
         final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
-        projectService.createProject(mock(NewProject.class), new RequestCallback<Response>() {
+        projectService.createProject(mock(NewProject.class), new RequestCallback<ActionResult>() {
             @Override
-            public void onGetContent(Response content) {
+            public void onGetContent(ActionResult content) {
                 responseReference.set(content);
                 countDownLatch.countDown();
             }
@@ -70,8 +91,8 @@ public class ProjectServiceImplTest extends BaseServiceTest {
 
         assertThat(countDownLatch.await(10, TimeUnit.SECONDS)).isTrue();
 
-        final Response response = responseReference.get();
-        assertThat(response.isSuccessful()).isTrue();
+        final ActionResult result = responseReference.get();
+        assertThat(result.isSuccessful()).isTrue();
         assertRequestHasCorrectCredential();
     }
 
@@ -79,26 +100,43 @@ public class ProjectServiceImplTest extends BaseServiceTest {
     public void createProject_WithObservable_ShouldSucceed_WhenNewProjectIsPassedAndApiKeyIsCorrect() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
         mockWebServer.enqueue(new MockResponse());
-        final TestSubscriber<Response> testSubscriber = new TestSubscriber<>();
+        final TestSubscriber<ActionResult> testSubscriber = new TestSubscriber<>();
         final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
         projectService.createProject(mock(NewProject.class)).subscribe(testSubscriber);
         testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
         testSubscriber.assertValueCount(1);
 
-        final Response response = testSubscriber.getOnNextEvents().get(0);
-        assertThat(response.isSuccessful()).isTrue();
+        final ActionResult result = testSubscriber.getOnNextEvents().get(0);
+        assertThat(result.isSuccessful()).isTrue();
         assertRequestHasCorrectCredential();
     }
 
+    @Test
+    public void createProject_WithObservable_ShouldReturnCreatedProjectId() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(201)
+                .setBody("{\"id\": \"12345\", \"STATUS\": \"OK\"}"));
+        final TestSubscriber<ActionResult> testSubscriber = new TestSubscriber<>();
+        final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
+        projectService.createProject(mock(NewProject.class)).subscribe(testSubscriber);
+        testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
+        testSubscriber.assertValueCount(1);
+
+        final ActionResult result = testSubscriber.getOnNextEvents().get(0);
+        assertThat(result.getCode()).isEqualTo(201);
+        assertThat(result.getStatus()).isEqualTo("OK");
+        assertThat(result.getId()).isEqualTo("12345");
+    }
+
     @Test
     public void createProject_ShouldFail_WhenNoApiKeyIsProvided() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
         final AtomicReference<Exception> exceptionReference = new AtomicReference<>();
         final CountDownLatch countDownLatch = new CountDownLatch(1);
         final ProjectService projectService = new ProjectServiceImpl(apiClientWithoutAuthenticator, gson);
-        projectService.createProject(mock(NewProject.class),new RequestCallback<Response>() {
+        projectService.createProject(mock(NewProject.class),new RequestCallback<ActionResult>() {
             @Override
-            public void onGetContent(Response content) {
+            public void onGetContent(ActionResult content) {
             }
 
             @Override
@@ -117,7 +155,7 @@ public class ProjectServiceImplTest extends BaseServiceTest {
     @Test
     public void createProject_withObservable_ShouldFail_WhenNoApiKeyIsProvided() {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
-        final TestSubscriber<Response> testSubscriber = new TestSubscriber<>();
+        final TestSubscriber<ActionResult> testSubscriber = new TestSubscriber<>();
         final ProjectService projectService = new ProjectServiceImpl(apiClientWithoutAuthenticator, gson);
         projectService.createProject(mock(NewProject.class)).subscribe(testSubscriber);
         testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
@@ -128,7 +166,7 @@ public class ProjectServiceImplTest extends BaseServiceTest {
     public void createProject_ShouldUsePost() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
         mockWebServer.enqueue(new MockResponse());
-        final TestSubscriber<Response> testSubscriber = new TestSubscriber<>();
+        final TestSubscriber<ActionResult> testSubscriber = new TestSubscriber<>();
         final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
         projectService.createProject(mock(NewProject.class)).subscribe(testSubscriber);
         testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
@@ -142,12 +180,12 @@ public class ProjectServiceImplTest extends BaseServiceTest {
     public void updateProject_ShouldSucceed_WhenNewProjectIsPassedAndApiKeyIsCorrect() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
         mockWebServer.enqueue(new MockResponse());
-        final AtomicReference<Response> responseReference = new AtomicReference<>();
+        final AtomicReference<ActionResult> responseReference = new AtomicReference<>();
         final CountDownLatch countDownLatch = new CountDownLatch(1);
         final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
-        projectService.updateProject(FAKE_PROJECT_ID, mock(NewProject.class), new RequestCallback<Response>() {
+        projectService.updateProject(FAKE_PROJECT_ID, mock(NewProject.class), new RequestCallback<ActionResult>() {
             @Override
-            public void onGetContent(Response content) {
+            public void onGetContent(ActionResult content) {
                 responseReference.set(content);
                 countDownLatch.countDown();
             }
@@ -160,8 +198,8 @@ public class ProjectServiceImplTest extends BaseServiceTest {
 
         assertThat(countDownLatch.await(10, TimeUnit.SECONDS)).isTrue();
 
-        final Response response = responseReference.get();
-        assertThat(response.isSuccessful()).isTrue();
+        final ActionResult result = responseReference.get();
+        assertThat(result.isSuccessful()).isTrue();
         assertRequestHasCorrectCredential();
     }
 
@@ -169,14 +207,14 @@ public class ProjectServiceImplTest extends BaseServiceTest {
     public void updateProject_WithObservable_ShouldSucceed_WhenNewProjectIsPassedAndApiKeyIsCorrect() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
         mockWebServer.enqueue(new MockResponse());
-        final TestSubscriber<Response> testSubscriber = new TestSubscriber<>();
+        final TestSubscriber<ActionResult> testSubscriber = new TestSubscriber<>();
         final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
         projectService.updateProject(FAKE_PROJECT_ID, mock(NewProject.class)).subscribe(testSubscriber);
         testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
         testSubscriber.assertValueCount(1);
 
-        final Response response = testSubscriber.getOnNextEvents().get(0);
-        assertThat(response.isSuccessful()).isTrue();
+        final ActionResult result = testSubscriber.getOnNextEvents().get(0);
+        assertThat(result.isSuccessful()).isTrue();
         assertRequestHasCorrectCredential();
     }
 
@@ -186,9 +224,9 @@ public class ProjectServiceImplTest extends BaseServiceTest {
         final AtomicReference<Exception> exceptionReference = new AtomicReference<>();
         final CountDownLatch countDownLatch = new CountDownLatch(1);
         final ProjectService projectService = new ProjectServiceImpl(apiClientWithoutAuthenticator, gson);
-        projectService.updateProject(FAKE_PROJECT_ID, mock(NewProject.class),new RequestCallback<Response>() {
+        projectService.updateProject(FAKE_PROJECT_ID, mock(NewProject.class),new RequestCallback<ActionResult>() {
             @Override
-            public void onGetContent(Response content) {
+            public void onGetContent(ActionResult content) {
             }
 
             @Override
@@ -207,7 +245,7 @@ public class ProjectServiceImplTest extends BaseServiceTest {
     @Test
     public void updateProject_withObservable_ShouldFail_WhenNoApiKeyIsProvided() {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
-        final TestSubscriber<Response> testSubscriber = new TestSubscriber<>();
+        final TestSubscriber<ActionResult> testSubscriber = new TestSubscriber<>();
         final ProjectService projectService = new ProjectServiceImpl(apiClientWithoutAuthenticator, gson);
         projectService.updateProject(FAKE_PROJECT_ID, mock(NewProject.class)).subscribe(testSubscriber);
         testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
@@ -218,7 +256,7 @@ public class ProjectServiceImplTest extends BaseServiceTest {
     public void updateProject_ShouldUsePut() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
         mockWebServer.enqueue(new MockResponse());
-        final TestSubscriber<Response> testSubscriber = new TestSubscriber<>();
+        final TestSubscriber<ActionResult> testSubscriber = new TestSubscriber<>();
         final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
         projectService.updateProject(FAKE_PROJECT_ID, mock(NewProject.class)).subscribe(testSubscriber);
         testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
@@ -232,12 +270,12 @@ public class ProjectServiceImplTest extends BaseServiceTest {
     public void deleteProject_ShouldSucceed_WhenNewProjectIsPassedAndApiKeyIsCorrect() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
         mockWebServer.enqueue(new MockResponse());
-        final AtomicReference<Response> responseReference = new AtomicReference<>();
+        final AtomicReference<ActionResult> responseReference = new AtomicReference<>();
         final CountDownLatch countDownLatch = new CountDownLatch(1);
         final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
-        projectService.deleteProject(FAKE_PROJECT_ID, new RequestCallback<Response>() {
+        projectService.deleteProject(FAKE_PROJECT_ID, new RequestCallback<ActionResult>() {
             @Override
-            public void onGetContent(Response content) {
+            public void onGetContent(ActionResult content) {
                 responseReference.set(content);
                 countDownLatch.countDown();
             }
@@ -250,8 +288,8 @@ public class ProjectServiceImplTest extends BaseServiceTest {
 
         assertThat(countDownLatch.await(10, TimeUnit.SECONDS)).isTrue();
 
-        final Response response = responseReference.get();
-        assertThat(response.isSuccessful()).isTrue();
+        final ActionResult result = responseReference.get();
+        assertThat(result.isSuccessful()).isTrue();
         assertRequestHasCorrectCredential();
     }
 
@@ -259,26 +297,39 @@ public class ProjectServiceImplTest extends BaseServiceTest {
     public void deleteProject_WithObservable_ShouldSucceed_WhenNewProjectIsPassedAndApiKeyIsCorrect() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
         mockWebServer.enqueue(new MockResponse());
-        final TestSubscriber<Response> testSubscriber = new TestSubscriber<>();
+        final TestSubscriber<ActionResult> testSubscriber = new TestSubscriber<>();
         final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
         projectService.deleteProject(FAKE_PROJECT_ID).subscribe(testSubscriber);
         testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
         testSubscriber.assertValueCount(1);
 
-        final Response response = testSubscriber.getOnNextEvents().get(0);
-        assertThat(response.isSuccessful()).isTrue();
+        final ActionResult result = testSubscriber.getOnNextEvents().get(0);
+        assertThat(result.isSuccessful()).isTrue();
         assertRequestHasCorrectCredential();
     }
 
+    @Test
+    public void deleteProject_WithObservable_ShouldCloseResponse() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse().setBody("{\"STATUS\": \"OK\"}"));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"STATUS\": \"OK\"}"));
+        final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
+        projectService.deleteProject(FAKE_PROJECT_ID).toBlocking().single();
+        projectService.deleteProject(FAKE_PROJECT_ID).toBlocking().single();
+
+        // The connection can only be reused once the first body has been closed
+        assertThat(mockWebServer.takeRequest().getSequenceNumber()).isEqualTo(0);
+        assertThat(mockWebServer.takeRequest().getSequenceNumber()).isEqualTo(1);
+    }
+
     @Test
     public void deleteProject_ShouldFail_WhenNoApiKeyIsProvided() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
         final AtomicReference<Exception> exceptionReference = new AtomicReference<>();
         final CountDownLatch countDownLatch = new CountDownLatch(1);
         final ProjectService projectService = new ProjectServiceImpl(apiClientWithoutAuthenticator, gson);
-        projectService.deleteProject(FAKE_PROJECT_ID, new RequestCallback<Response>() {
+        projectService.deleteProject(FAKE_PROJECT_ID, new RequestCallback<ActionResult>() {
             @Override
-            public void onGetContent(Response content) {
+            public void onGetContent(ActionResult content) {
             }
 
             @Override
@@ -297,7 +348,7 @@ public class ProjectServiceImplTest extends BaseServiceTest {
     @Test
     public void deleteProject_withObservable_ShouldFail_WhenNoApiKeyIsProvided() {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
-        final TestSubscriber<Response> testSubscriber = new TestSubscriber<>();
+        final TestSubscriber<ActionResult> testSubscriber = new TestSubscriber<>();
         final ProjectService projectService = new ProjectServiceImpl(apiClientWithoutAuthenticator, gson);
         projectService.deleteProject(FAKE_PROJECT_ID).subscribe(testSubscriber);
         testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
@@ -308,7 +359,7 @@ public class ProjectServiceImplTest extends BaseServiceTest {
     public void deleteProject_ShouldUseDelete() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
         mockWebServer.enqueue(new MockResponse());
-        final TestSubscriber<Response> testSubscriber = new TestSubscriber<>();
+        final TestSubscriber<ActionResult> testSubscriber = new TestSubscriber<>();
         final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
         projectService.deleteProject(FAKE_PROJECT_ID).subscribe(testSubscriber);
         testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
@@ -416,6 +467,213 @@ public class ProjectServiceImplTest extends BaseServiceTest {
         assertThat(recordedRequest.getMethod()).isEqualTo(HttpMethod.GET);
     }
 
+    @Test
+    public void streamAllProjects_ShouldEmitEachProject_WhenApiKeyIsCorrect() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(401));
+        mockWebServer.enqueue(projectsResponseMock);
+
+        final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
+        final TestSubscriber<Project> testSubscriber = new TestSubscriber<>();
+        projectService.streamAllProjects().subscribe(testSubscriber);
+        testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
+        testSubscriber.assertCompleted();
+        testSubscriber.assertValueCount(2);
+
+        assertThat(testSubscriber.getOnNextEvents()).usingRecursiveFieldByFieldElementComparator()
+                .isEqualTo(createExpectedProjects());
+        assertRequestHasCorrectCredential();
+    }
+
+    @Test
+    public void streamAllProjects_ShouldHonorBackpressure() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(401));
+        mockWebServer.enqueue(projectsResponseMock);
+
+        final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
+        final TestSubscriber<Project> testSubscriber = new TestSubscriber<>(1L);
+        projectService.streamAllProjects().subscribe(testSubscriber);
+        assertThat(testSubscriber.awaitValueCount(1, 10, TimeUnit.SECONDS)).isTrue();
+        testSubscriber.assertNotCompleted();
+        testSubscriber.assertValueCount(1);
+
+        testSubscriber.requestMore(2);
+        testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
+        testSubscriber.assertCompleted();
+        testSubscriber.assertValueCount(2);
+    }
+
+    @Test
+    public void getAllProjects_WithObservable_ShouldReuseParsedProjects_WhenNotModified() throws InterruptedException {
+        mockWebServer.enqueue(projectsResponseMock.clone().setHeader("ETag", "\"v1\""));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(304));
+
+        final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
+        final List<Project> projects = projectService.getAllProjects().toBlocking().single();
+        final List<Project> unchangedProjects = projectService.getAllProjects().toBlocking().single();
+
+        assertThat(unchangedProjects).isSameAs(projects);
+        assertThat(mockWebServer.takeRequest().getHeader("If-None-Match")).isNull();
+        assertThat(mockWebServer.takeRequest().getHeader("If-None-Match")).isEqualTo("\"v1\"");
+    }
+
+    @Test
+    public void getAllProjects_WithObservable_ShouldParseAgain_WhenModified() throws InterruptedException {
+        mockWebServer.enqueue(projectsResponseMock.clone().setHeader("Last-Modified", "Wed, 01 Feb 2017 10:00:00 GMT"));
+        mockWebServer.enqueue(projectsResponseMock);
+
+        final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
+        final List<Project> projects = projectService.getAllProjects().toBlocking().single();
+        final List<Project> modifiedProjects = projectService.getAllProjects().toBlocking().single();
+
+        assertThat(modifiedProjects).isNotSameAs(projects);
+        assertThat(modifiedProjects).hasSize(2);
+        mockWebServer.takeRequest();
+        assertThat(mockWebServer.takeRequest().getHeader("If-Modified-Since")).isEqualTo("Wed, 01 Feb 2017 10:00:00 GMT");
+    }
+
+    @Test
+    public void getAllProjects_WithObservable_ShouldServeFromMemoryCache_UntilAProjectChanges() {
+        mockWebServer.enqueue(projectsResponseMock);
+        mockWebServer.enqueue(new MockResponse().setBody("{\"STATUS\": \"OK\"}"));
+        mockWebServer.enqueue(projectsResponseMock);
+
+        final MemoryCache memoryCache = new MemoryCache(1, TimeUnit.MINUTES, 10);
+        final ProjectService projectService = new ProjectServiceImpl(apiClient, gson, memoryCache);
+        final List<Project> projects = projectService.getAllProjects().toBlocking().single();
+        assertThat(projectService.getAllProjects().toBlocking().single()).isSameAs(projects);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+        assertThat(memoryCache.getHitCount()).isEqualTo(1);
+        assertThat(memoryCache.getMissCount()).isEqualTo(1);
+
+        projectService.starProject(FAKE_PROJECT_ID).toBlocking().single();
+        assertThat(projectService.getAllProjects().toBlocking().single()).isNotSameAs(projects);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getAllProjects_WithObservable_ShouldNotLetCallersChangeTheCachedList() {
+        mockWebServer.enqueue(projectsResponseMock);
+
+        final ProjectService projectService = new ProjectServiceImpl(apiClient, gson, new MemoryCache(1, TimeUnit.MINUTES, 10));
+        projectService.getAllProjects().toBlocking().single().clear();
+    }
+
+    @Test
+    public void getRequestKey_ShouldDifferPerCredential() {
+        final String firstKey = apiClient.withPath(PROJECTS_URL_PATH)
+                .authorizationHeader(AUTHORIZATION_CREDENTIAL)
+                .getRequestKey(List.class);
+        final String secondKey = apiClient.withPath(PROJECTS_URL_PATH)
+                .authorizationHeader("Basic another")
+                .getRequestKey(List.class);
+
+        assertThat(firstKey).isNotEqualTo(secondKey);
+    }
+
+    @Test
+    public void getProject_WithObservable_ShouldCacheEachParameterSeparately() {
+        mockWebServer.enqueue(projectResponseMock);
+        mockWebServer.enqueue(projectResponseMock);
+
+        final MemoryCache memoryCache = new MemoryCache(1, TimeUnit.MINUTES, 10);
+        final ProjectService projectService = new ProjectServiceImpl(apiClient, gson, memoryCache);
+        projectService.getProject(FAKE_PROJECT_ID, false).toBlocking().single();
+        projectService.getProject(FAKE_PROJECT_ID, true).toBlocking().single();
+        projectService.getProject(FAKE_PROJECT_ID, true).toBlocking().single();
+
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+        assertThat(memoryCache.getHitCount()).isEqualTo(1);
+        assertThat(memoryCache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void getAllProjects_WithObservable_ShouldShareOneCall_WhenIdenticalRequestsAreInFlight() {
+        mockWebServer.enqueue(projectsResponseMock.clone().setBodyDelay(500, TimeUnit.MILLISECONDS));
+
+        final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
+        final TestSubscriber<List<Project>> firstSubscriber = new TestSubscriber<>();
+        final TestSubscriber<List<Project>> secondSubscriber = new TestSubscriber<>();
+        projectService.getAllProjects().subscribe(firstSubscriber);
+        projectService.getAllProjects().subscribe(secondSubscriber);
+        firstSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
+        secondSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
+
+        firstSubscriber.assertValueCount(1);
+        secondSubscriber.assertValueCount(1);
+        assertThat(secondSubscriber.getOnNextEvents().get(0)).isSameAs(firstSubscriber.getOnNextEvents().get(0));
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void getProjectsPage_WithObservable_ShouldNotReuseProjectList_FromTheSameUrl() throws InterruptedException {
+        mockWebServer.enqueue(projectsResponseMock.clone().setHeader("ETag", "\"v1\""));
+        mockWebServer.enqueue(projectsResponseMock.clone().setHeader("ETag", "\"v1\""));
+
+        final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
+        projectService.getAllProjects().toBlocking().single();
+        final Page<Project> page = projectService.getProjectsPage(null).toBlocking().single();
+
+        assertThat(page.getItems()).hasSize(2);
+        mockWebServer.takeRequest();
+        assertThat(mockWebServer.takeRequest().getHeader("If-None-Match")).isNull();
+    }
+
+    @Test
+    public void getAllProjects_WithObservable_ShouldCancelCall_WhenUnsubscribed() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        final CountDownLatch canceledLatch = new CountDownLatch(1);
+        final OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .addInterceptor(chain -> {
+                    try {
+                        return chain.proceed(chain.request());
+                    } catch (IOException e) {
+                        canceledLatch.countDown();
+                        throw e;
+                    }
+                })
+                .readTimeout(60, TimeUnit.SECONDS)
+                .build();
+        final ApiClient apiClient = new ApiClient.Builder()
+                .baseUrl(mockWebServer.url("/"))
+                .okHttpClient(okHttpClient)
+                .build();
+
+        final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
+        final Subscription subscription = projectService.getAllProjects().subscribe(projects -> {}, e -> {});
+        assertThat(mockWebServer.takeRequest(10, TimeUnit.SECONDS)).isNotNull();
+        subscription.unsubscribe();
+
+        assertThat(canceledLatch.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void getProject_WithObservable_ShouldNotHoldThreadsWhileInFlight() {
+        final int requestCount = 3;
+        final CountDownLatch allInFlight = new CountDownLatch(requestCount);
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                // Only answers once every request reached the server
+                allInFlight.countDown();
+                allInFlight.await(10, TimeUnit.SECONDS);
+                return projectResponseMock;
+            }
+        });
+        final ApiClient apiClient = new ApiClient.Builder()
+                .baseUrl(mockWebServer.url("/"))
+                .okHttpClient(new OkHttpClient())
+                .networkScheduler(Schedulers.from(Executors.newSingleThreadExecutor()))
+                .build();
+        final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
+
+        final List<Project> projects = Observable.range(0, requestCount)
+                .flatMap(i -> projectService.getProject(FAKE_PROJECT_ID + i))
+                .toList().toBlocking().single();
+
+        assertThat(projects).hasSize(requestCount);
+        assertThat(allInFlight.getCount()).isZero();
+    }
+
     @Test
     public void getProjects_ShouldReturnProject_WhenApiKeyIsCorrect() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
@@ -712,12 +970,12 @@ public class ProjectServiceImplTest extends BaseServiceTest {
     public void starProject_ShouldSucceed_WhenApiKeyIsCorrect() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
         mockWebServer.enqueue(new MockResponse());
-        final AtomicReference<Response> responseReference = new AtomicReference<>();
+        final AtomicReference<ActionResult> responseReference = new AtomicReference<>();
         final CountDownLatch countDownLatch = new CountDownLatch(1);
         final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
-        projectService.starProject(FAKE_PROJECT_ID, new RequestCallback<Response>() {
+        projectService.starProject(FAKE_PROJECT_ID, new RequestCallback<ActionResult>() {
             @Override
-            public void onGetContent(Response content) {
+            public void onGetContent(ActionResult content) {
                 responseReference.set(content);
                 countDownLatch.countDown();
             }
@@ -730,8 +988,8 @@ public class ProjectServiceImplTest extends BaseServiceTest {
 
         assertThat(countDownLatch.await(10, TimeUnit.SECONDS)).isTrue();
 
-        final Response response = responseReference.get();
-        assertThat(response.isSuccessful()).isTrue();
+        final ActionResult result = responseReference.get();
+        assertThat(result.isSuccessful()).isTrue();
         assertRequestHasCorrectCredential();
     }
 
@@ -739,14 +997,14 @@ public class ProjectServiceImplTest extends BaseServiceTest {
     public void starProject_WithObservable_ShouldSucceed_WhenApiKeyIsCorrect() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
         mockWebServer.enqueue(new MockResponse());
-        final TestSubscriber<Response> testSubscriber = new TestSubscriber<>();
+        final TestSubscriber<ActionResult> testSubscriber = new TestSubscriber<>();
         final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
         projectService.starProject(FAKE_PROJECT_ID).subscribe(testSubscriber);
         testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
         testSubscriber.assertValueCount(1);
 
-        final Response response = testSubscriber.getOnNextEvents().get(0);
-        assertThat(response.isSuccessful()).isTrue();
+        final ActionResult result = testSubscriber.getOnNextEvents().get(0);
+        assertThat(result.isSuccessful()).isTrue();
         assertRequestHasCorrectCredential();
     }
 
@@ -756,9 +1014,9 @@ public class ProjectServiceImplTest extends BaseServiceTest {
         final AtomicReference<Exception> exceptionReference = new AtomicReference<>();
         final CountDownLatch countDownLatch = new CountDownLatch(1);
         final ProjectService projectService = new ProjectServiceImpl(apiClientWithoutAuthenticator, gson);
-        projectService.starProject(FAKE_PROJECT_ID, new RequestCallback<Response>() {
+        projectService.starProject(FAKE_PROJECT_ID, new RequestCallback<ActionResult>() {
             @Override
-            public void onGetContent(Response content) {
+            public void onGetContent(ActionResult content) {
             }
 
             @Override
@@ -777,7 +1035,7 @@ public class ProjectServiceImplTest extends BaseServiceTest {
     @Test
     public void starProject_withObservable_ShouldFail_WhenNoApiKeyIsProvided() {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
-        final TestSubscriber<Response> testSubscriber = new TestSubscriber<>();
+        final TestSubscriber<ActionResult> testSubscriber = new TestSubscriber<>();
         final ProjectService projectService = new ProjectServiceImpl(apiClientWithoutAuthenticator, gson);
         projectService.starProject(FAKE_PROJECT_ID).subscribe(testSubscriber);
         testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
@@ -788,7 +1046,7 @@ public class ProjectServiceImplTest extends BaseServiceTest {
     public void starProject_ShouldUsePut() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
         mockWebServer.enqueue(new MockResponse());
-        final TestSubscriber<Response> testSubscriber = new TestSubscriber<>();
+        final TestSubscriber<ActionResult> testSubscriber = new TestSubscriber<>();
         final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
         projectService.starProject(FAKE_PROJECT_ID).subscribe(testSubscriber);
         testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
@@ -802,12 +1060,12 @@ public class ProjectServiceImplTest extends BaseServiceTest {
     public void unstarProject_ShouldSucceed_WhenApiKeyIsCorrect() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
         mockWebServer.enqueue(new MockResponse());
-        final AtomicReference<Response> responseReference = new AtomicReference<>();
+        final AtomicReference<ActionResult> responseReference = new AtomicReference<>();
         final CountDownLatch countDownLatch = new CountDownLatch(1);
         final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
-        projectService.unstarProject(FAKE_PROJECT_ID, new RequestCallback<Response>() {
+        projectService.unstarProject(FAKE_PROJECT_ID, new RequestCallback<ActionResult>() {
             @Override
-            public void onGetContent(Response content) {
+            public void onGetContent(ActionResult content) {
                 responseReference.set(content);
                 countDownLatch.countDown();
             }
@@ -820,8 +1078,8 @@ public class ProjectServiceImplTest extends BaseServiceTest {
 
         assertThat(countDownLatch.await(10, TimeUnit.SECONDS)).isTrue();
 
-        final Response response = responseReference.get();
-        assertThat(response.isSuccessful()).isTrue();
+        final ActionResult result = responseReference.get();
+        assertThat(result.isSuccessful()).isTrue();
         assertRequestHasCorrectCredential();
     }
 
@@ -829,14 +1087,14 @@ public class ProjectServiceImplTest extends BaseServiceTest {
     public void unstarProject_WithObservable_ShouldSucceed_WhenApiKeyIsCorrect() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
         mockWebServer.enqueue(new MockResponse());
-        final TestSubscriber<Response> testSubscriber = new TestSubscriber<>();
+        final TestSubscriber<ActionResult> testSubscriber = new TestSubscriber<>();
         final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
         projectService.unstarProject(FAKE_PROJECT_ID).subscribe(testSubscriber);
         testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
         testSubscriber.assertValueCount(1);
 
-        final Response response = testSubscriber.getOnNextEvents().get(0);
-        assertThat(response.isSuccessful()).isTrue();
+        final ActionResult result = testSubscriber.getOnNextEvents().get(0);
+        assertThat(result.isSuccessful()).isTrue();
         assertRequestHasCorrectCredential();
     }
 
@@ -846,9 +1104,9 @@ public class ProjectServiceImplTest extends BaseServiceTest {
         final AtomicReference<Exception> exceptionReference = new AtomicReference<>();
         final CountDownLatch countDownLatch = new CountDownLatch(1);
         final ProjectService projectService = new ProjectServiceImpl(apiClientWithoutAuthenticator, gson);
-        projectService.unstarProject(FAKE_PROJECT_ID, new RequestCallback<Response>() {
+        projectService.unstarProject(FAKE_PROJECT_ID, new RequestCallback<ActionResult>() {
             @Override
-            public void onGetContent(Response content) {
+            public void onGetContent(ActionResult content) {
             }
 
             @Override
@@ -867,7 +1125,7 @@ public class ProjectServiceImplTest extends BaseServiceTest {
     @Test
     public void unstarProject_withObservable_ShouldFail_WhenNoApiKeyIsProvided() {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
-        final TestSubscriber<Response> testSubscriber = new TestSubscriber<>();
+        final TestSubscriber<ActionResult> testSubscriber = new TestSubscriber<>();
         final ProjectService projectService = new ProjectServiceImpl(apiClientWithoutAuthenticator, gson);
         projectService.unstarProject(FAKE_PROJECT_ID).subscribe(testSubscriber);
         testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
@@ -878,7 +1136,7 @@ public class ProjectServiceImplTest extends BaseServiceTest {
     public void unstarProject_ShouldUsePut() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse().setResponseCode(401));
         mockWebServer.enqueue(new MockResponse());
-        final TestSubscriber<Response> testSubscriber = new TestSubscriber<>();
+        final TestSubscriber<ActionResult> testSubscriber = new TestSubscriber<>();
         final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
         projectService.unstarProject(FAKE_PROJECT_ID).subscribe(testSubscriber);
         testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
@@ -888,6 +1146,101 @@ public class ProjectServiceImplTest extends BaseServiceTest {
         assertThat(recordedRequest.getMethod()).isEqualTo(HttpMethod.PUT);
     }
 
+    @Test
+    public void getProjectsPage_WithObservable_ShouldReadPaginationHeaders() throws InterruptedException {
+        mockWebServer.enqueue(projectsPageResponseMock(2, 3));
+
+        final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
+        final TestSubscriber<Page<Project>> testSubscriber = new TestSubscriber<>();
+        projectService.getProjectsPage(null).subscribe(testSubscriber);
+        testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
+        testSubscriber.assertCompleted();
+
+        final Page<Project> page = testSubscriber.getOnNextEvents().get(0);
+        assertThat(page.getPage()).isEqualTo(2);
+        assertThat(page.getPageCount()).isEqualTo(3);
+        assertThat(page.getRecordCount()).isEqualTo(6);
+        assertThat(page.hasNextPage()).isTrue();
+        assertThat(page.getItems()).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(createExpectedProjects());
+    }
+
+    @Test
+    public void getProjectsPage_WithObservable_ShouldBeTheOnlyPage_WhenPaginationHeadersAreMissing() {
+        mockWebServer.enqueue(projectsResponseMock);
+
+        final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
+        final TestSubscriber<Page<Project>> testSubscriber = new TestSubscriber<>();
+        projectService.getProjectsPage(null).subscribe(testSubscriber);
+        testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
+        testSubscriber.assertCompleted();
+
+        final Page<Project> page = testSubscriber.getOnNextEvents().get(0);
+        assertThat(page.getPage()).isEqualTo(1);
+        assertThat(page.getPageCount()).isEqualTo(1);
+        assertThat(page.getRecordCount()).isEqualTo(2);
+        assertThat(page.hasNextPage()).isFalse();
+    }
+
+    @Test
+    public void getAllProjectPages_ShouldEmitEveryPageInOrder() throws InterruptedException {
+        mockWebServer.setDispatcher(new PageDispatcher(3));
+
+        final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
+        final TestSubscriber<Page<Project>> testSubscriber = new TestSubscriber<>();
+        projectService.getAllProjectPages(null).subscribe(testSubscriber);
+        testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
+        testSubscriber.assertCompleted();
+        testSubscriber.assertValueCount(3);
+
+        final List<Page<Project>> pages = testSubscriber.getOnNextEvents();
+        for (int i = 0; i < pages.size(); i++) {
+            assertThat(pages.get(i).getPage()).isEqualTo(i + 1);
+            assertThat(pages.get(i).getItems()).hasSize(2);
+        }
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void getAllProjectPages_ShouldPrefetchNextPages_BeforeTheyAreRequested() throws InterruptedException {
+        mockWebServer.setDispatcher(new PageDispatcher(3));
+
+        final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
+        final TestSubscriber<Page<Project>> testSubscriber = new TestSubscriber<>(1L);
+        projectService.getAllProjectPages(null).subscribe(testSubscriber);
+        assertThat(testSubscriber.awaitValueCount(1, 10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(requestedPage(mockWebServer.takeRequest())).isNull();
+        final List<String> prefetchedPages = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            final RecordedRequest prefetchRequest = mockWebServer.takeRequest(10, TimeUnit.SECONDS);
+            assertThat(prefetchRequest).isNotNull();
+            prefetchedPages.add(requestedPage(prefetchRequest));
+        }
+        assertThat(prefetchedPages).containsOnly("2", "3");
+        testSubscriber.assertValueCount(1);
+
+        testSubscriber.requestMore(2);
+        testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
+        testSubscriber.assertCompleted();
+        testSubscriber.assertValueCount(3);
+    }
+
+    @Test
+    public void getAllProjectPages_ShouldEmitOnePage_WhenPaginationHeadersAreMissing() throws InterruptedException {
+        mockWebServer.enqueue(projectsResponseMock);
+
+        final ProjectService projectService = new ProjectServiceImpl(apiClient, gson);
+        final TestSubscriber<Page<Project>> testSubscriber = new TestSubscriber<>();
+        projectService.getAllProjectPages(null).subscribe(testSubscriber);
+        testSubscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
+        testSubscriber.assertCompleted();
+        testSubscriber.assertValueCount(1);
+
+        final RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertThat(recordedRequest.getPath()).isEqualTo(PROJECTS_URL_PATH);
+    }
+
     @Test
     public void createGetAllProjectsExecutor_ShouldHaveNoParameterInUrlPath_WhenParameterIsNull() {
         final ProjectServiceImpl projectServiceImpl = new ProjectServiceImpl(apiClient, gson);
@@ -897,6 +1250,161 @@ public class ProjectServiceImplTest extends BaseServiceTest {
         assertThat(path).isEqualTo(PROJECTS_URL_PATH);
     }
 
+    @Test
+    public void starProjects_ShouldEmitEveryResult_WhenSomeFail() {
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return request.getPath().equals(String.format(STAR_A_PROJECT_URL_PATH, "3"))
+                        ? new MockResponse().setResponseCode(500)
+                        : new MockResponse().setBody("{\"STATUS\": \"OK\"}");
+            }
+        });
+
+        final List<BatchResult<String>> results = new ProjectServiceImpl(apiClient, gson)
+                .starProjects(Arrays.asList("1", "2", "3", "4"), 2)
+                .toList().toBlocking().single();
+
+        assertThat(results).extracting(BatchResult::getItem).containsOnly("1", "2", "3", "4");
+        for (final BatchResult<String> result : results) {
+            assertThat(result.isSuccessful()).isEqualTo(!result.getItem().equals("3"));
+        }
+        final BatchResult<String> failed = results.stream()
+                .filter(result -> result.getItem().equals("3")).findFirst().get();
+        assertThat(failed.getError()).isInstanceOf(ServerErrorException.class);
+    }
+
+    @Test
+    public void deleteProjects_ShouldKeepAtMostMaxConcurrencyRequestsInFlight() {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                final int current = inFlight.incrementAndGet();
+                maxInFlight.accumulateAndGet(current, Math::max);
+                Thread.sleep(50);
+                inFlight.decrementAndGet();
+                return new MockResponse().setBody("{\"STATUS\": \"OK\"}");
+            }
+        });
+
+        final List<BatchResult<String>> results = new ProjectServiceImpl(apiClient, gson)
+                .deleteProjects(Arrays.asList("1", "2", "3", "4", "5", "6"), 2)
+                .toList().toBlocking().single();
+
+        assertThat(results).hasSize(6);
+        assertThat(maxInFlight.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void getAllProjects_ShouldReportDecodedProjects_WhenMetricsSinkIsSet() {
+        mockWebServer.enqueue(projectsResponseMock);
+        final MetricsRegistry metricsRegistry = new MetricsRegistry();
+        final ApiClient measuredApiClient = new ApiClient.Builder()
+                .baseUrl(mockWebServer.url("/"))
+                .okHttpClient(new OkHttpClient())
+                .metricsSink(metricsRegistry)
+                .build();
+
+        final List<Project> projects = new ProjectServiceImpl(measuredApiClient, gson)
+                .getAllProjects().toBlocking().single();
+
+        final Histogram decodedObjects = metricsRegistry.getHistogram("GET /projects.json", Metric.DECODED_OBJECTS);
+        assertThat(decodedObjects.getCount()).isEqualTo(1);
+        assertThat(decodedObjects.getSum()).isEqualTo(projects.size());
+        assertThat(metricsRegistry.getHistogram("GET /projects.json", Metric.DECODE).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void getAllProjects_ShouldDecodeOnParseScheduler_AndStreamOnNetworkScheduler() {
+        mockWebServer.enqueue(projectsResponseMock);
+        mockWebServer.enqueue(projectsResponseMock);
+        final List<String> decodeThreads = new ArrayList<>();
+        final ApiClient scheduledApiClient = new ApiClient.Builder()
+                .baseUrl(mockWebServer.url("/"))
+                .okHttpClient(new OkHttpClient())
+                .metricsSink(new MetricsSink() {
+                    @Override
+                    public void onRequest(RequestMetrics metrics) {
+                    }
+
+                    @Override
+                    public void onDecode(DecodeMetrics metrics) {
+                        decodeThreads.add(Thread.currentThread().getName());
+                    }
+                })
+                .networkScheduler(Schedulers.from(Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "network"))))
+                .parseScheduler(Schedulers.from(Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "parse"))))
+                .build();
+        final ProjectService projectService = new ProjectServiceImpl(scheduledApiClient, gson);
+
+        projectService.getAllProjects().toBlocking().single();
+        projectService.streamAllProjects().toList().toBlocking().single();
+
+        assertThat(decodeThreads).containsExactly("parse", "network");
+    }
+
+    @Test
+    public void starProject_WithCallback_ShouldGoThroughTheSamePipelineAsObservable() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse().setBody("{\"STATUS\": \"OK\"}"));
+        final MetricsRegistry metricsRegistry = new MetricsRegistry();
+        final ApiClient measuredApiClient = new ApiClient.Builder()
+                .baseUrl(mockWebServer.url("/"))
+                .okHttpClient(new OkHttpClient())
+                .metricsSink(metricsRegistry)
+                .parseScheduler(Schedulers.from(Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "parse"))))
+                .build();
+        final AtomicReference<String> callbackThread = new AtomicReference<>();
+        final CountDownLatch countDownLatch = new CountDownLatch(1);
+
+        new ProjectServiceImpl(measuredApiClient, gson).starProject(FAKE_PROJECT_ID, new RequestCallback<ActionResult>() {
+            @Override
+            public void onGetContent(ActionResult content) {
+                callbackThread.set(Thread.currentThread().getName());
+                countDownLatch.countDown();
+            }
+
+            @Override
+            public void onError(Exception e) {
+                countDownLatch.countDown();
+            }
+        });
+
+        assertThat(countDownLatch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(callbackThread.get()).isEqualTo("parse");
+        assertThat(metricsRegistry.getHistogram("PUT /projects/{id}/star.json", Metric.DECODE).getCount()).isEqualTo(1);
+    }
+
+    private static MockResponse projectsPageResponseMock(int page, int pageCount) {
+        return projectsResponseMock.clone()
+                .setHeader("X-Page", page)
+                .setHeader("X-Pages", pageCount)
+                .setHeader("X-Records", pageCount * 2);
+    }
+
+    private static String requestedPage(RecordedRequest request) {
+        return HttpUrl.parse("http://localhost" + request.getPath()).queryParameter("page");
+    }
+
+    /**
+     * Answers every /projects.json request with the page asked in its query, the first page when there is none.
+     */
+    private static final class PageDispatcher extends Dispatcher {
+
+        private final int pageCount;
+
+        PageDispatcher(int pageCount) {
+            this.pageCount = pageCount;
+        }
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            final String page = requestedPage(request);
+            return projectsPageResponseMock(page == null ? 1 : Integer.parseInt(page), pageCount);
+        }
+    }
+
     private List<Project> createExpectedProjects() {
         return gson.fromJson(projectsResponseMock.getBody().readUtf8(), new TypeToken<List<Project>>() {}.getType());
     }